@@ -2,9 +2,13 @@ package io.quarkus.grpc.deployment;
 
 import com.google.protobuf.GeneratedMessageV3;
 import io.grpc.Channel;
+import io.grpc.Codec;
 import io.grpc.LoadBalancerProvider;
 import io.grpc.NameResolverProvider;
 import io.quarkus.gizmo.MethodDescriptor;
+import io.quarkus.grpc.runtime.annotations.Blocking;
+import io.quarkus.grpc.runtime.annotations.CacheResponse;
+import io.quarkus.grpc.runtime.annotations.CoalesceRequests;
 import io.quarkus.grpc.runtime.annotations.GrpcService;
 import io.quarkus.grpc.runtime.supports.Channels;
 import org.jboss.jandex.DotName;
@@ -13,6 +17,10 @@ public class GrpcDotNames {
 
     static final DotName CHANNEL = DotName.createSimple(Channel.class.getName());
     static final DotName GRPC_SERVICE = DotName.createSimple(GrpcService.class.getName());
+    static final DotName CODEC = DotName.createSimple(Codec.class.getName());
+    static final DotName BLOCKING = DotName.createSimple(Blocking.class.getName());
+    static final DotName CACHE_RESPONSE = DotName.createSimple(CacheResponse.class.getName());
+    static final DotName COALESCE_REQUESTS = DotName.createSimple(CoalesceRequests.class.getName());
     static final DotName MESSAGE_BUILDER = DotName.createSimple(GeneratedMessageV3.Builder.class.getName());
     static final DotName GENERATED_MESSAGE_V3 = DotName.createSimple(GeneratedMessageV3.class.getName());
     static final DotName NAME_RESOLVER_PROVIDER = DotName.createSimple(NameResolverProvider.class.getName());
@@ -20,6 +28,7 @@ public class GrpcDotNames {
 
 
     static final MethodDescriptor CREATE_CHANNEL_METHOD = MethodDescriptor.ofMethod(Channels.class, "createChannel", Channel.class, String.class);
+    static final MethodDescriptor CLOSE_CHANNEL_METHOD = MethodDescriptor.ofMethod(Channels.class, "closeChannel", void.class, String.class, Channel.class);
     static final MethodDescriptor RETRIEVE_CHANNEL_METHOD = MethodDescriptor.ofMethod(Channels.class, "retrieveChannel", Channel.class, String.class);
 
 }
@@ -7,6 +7,7 @@ import io.grpc.internal.PickFirstLoadBalancerProvider;
 import io.grpc.netty.NettyChannelProvider;
 import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
 import io.quarkus.arc.deployment.BeanRegistrationPhaseBuildItem;
+import io.quarkus.arc.deployment.UnremovableBeanBuildItem;
 import io.quarkus.arc.deployment.ValidationPhaseBuildItem;
 import io.quarkus.arc.processor.BeanConfigurator;
 import io.quarkus.arc.processor.BuildExtension;
@@ -33,19 +34,24 @@ import io.quarkus.kubernetes.spi.KubernetesPortBuildItem;
 import io.quarkus.vertx.deployment.VertxBuildItem;
 import org.eclipse.microprofile.config.ConfigProvider;
 import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationTarget;
 import org.jboss.jandex.ClassInfo;
 import org.jboss.jandex.ClassType;
 import org.jboss.jandex.DotName;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.MethodInfo;
 import org.jboss.jandex.Type;
 import org.jboss.logging.Logger;
 
 import javax.enterprise.inject.spi.DeploymentException;
 import javax.inject.Singleton;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static io.quarkus.grpc.deployment.GrpcDotNames.CLOSE_CHANNEL_METHOD;
 import static io.quarkus.grpc.deployment.GrpcDotNames.CREATE_CHANNEL_METHOD;
 import static io.quarkus.grpc.deployment.GrpcDotNames.RETRIEVE_CHANNEL_METHOD;
 
@@ -66,6 +72,20 @@ public class GrpcProcessor {
         beans.produce(AdditionalBeanBuildItem.unremovableOf(GrpcService.class));
     }
 
+    /**
+     * Discovers the beans implementing {@link io.grpc.Codec}. They are looked up programmatically when the server and
+     * the channels are created, so they must not be removed.
+     */
+    @BuildStep
+    void discoverCodecs(CombinedIndexBuildItem combinedIndex, BuildProducer<UnremovableBeanBuildItem> unremovable) {
+        Collection<ClassInfo> codecs = combinedIndex.getIndex().getAllKnownImplementors(GrpcDotNames.CODEC);
+        for (ClassInfo codec : codecs) {
+            LOGGER.debugf("Detected gRPC codec %s", codec.name());
+        }
+        unremovable.produce(new UnremovableBeanBuildItem(
+                new UnremovableBeanBuildItem.BeanTypeExclusion(GrpcDotNames.CODEC)));
+    }
+
     @BuildStep
     void discoverInjectedGrpcServices(BeanRegistrationPhaseBuildItem phase,
             BuildProducer<GrpcServiceBuildItem> services) {
@@ -137,7 +157,8 @@ public class GrpcProcessor {
                     .addQualifier().annotation(GrpcService.class).addValue("value", svc.getServiceName()).done()
                     .scope(Singleton.class)
                     .unremovable()
-                    .creator(mc -> generateChannelProducer(mc, svc));
+                    .creator(mc -> generateChannelProducer(mc, svc))
+                    .destroyer(mc -> generateChannelDestroyer(mc, svc));
             channelProducer.done();
             beans.produce(new BeanRegistrationPhaseBuildItem.BeanConfiguratorBuildItem(channelProducer));
 
@@ -172,6 +193,12 @@ public class GrpcProcessor {
         mc.close();
     }
 
+    private void generateChannelDestroyer(MethodCreator mc, GrpcServiceBuildItem svc) {
+        mc.invokeStaticMethod(CLOSE_CHANNEL_METHOD, mc.load(svc.getConfigPrefix()), mc.getMethodParam(0));
+        mc.returnValue(null);
+        mc.close();
+    }
+
     private void generateStubProducer(MethodCreator mc, GrpcServiceBuildItem svc, boolean mutiny) {
         ResultHandle prefix = mc.load(svc.getServiceName());
         ResultHandle channel = mc.invokeStaticMethod(RETRIEVE_CHANNEL_METHOD, prefix);
@@ -206,11 +233,55 @@ public class GrpcProcessor {
     @Record(value = ExecutionTime.RUNTIME_INIT)
     ServiceStartBuildItem build(GrpcServerRecorder recorder, GrpcServerConfiguration config,
             ShutdownContextBuildItem shutdown,
+            CombinedIndexBuildItem combinedIndex,
             VertxBuildItem vertx) {
-        recorder.initializeGrpcServer(config, shutdown);
+        IndexView index = combinedIndex.getIndex();
+        recorder.initializeGrpcServer(config, shutdown, collectBlockingMethods(index),
+                collectAnnotatedMethods(index, GrpcDotNames.CACHE_RESPONSE),
+                collectAnnotatedMethods(index, GrpcDotNames.COALESCE_REQUESTS));
         return new ServiceStartBuildItem("grpc-server");
     }
 
+    /**
+     * Collects the methods annotated with {@code @Blocking}.
+     *
+     * @return the names of the blocking methods per class name, {@link GrpcServerBean#ALL_METHODS} if the class itself
+     *         is annotated
+     */
+    private Map<String, List<String>> collectBlockingMethods(IndexView index) {
+        Map<String, List<String>> result = new HashMap<>();
+        for (AnnotationInstance instance : index.getAnnotations(GrpcDotNames.BLOCKING)) {
+            AnnotationTarget target = instance.target();
+            if (target.kind() == AnnotationTarget.Kind.CLASS) {
+                result.computeIfAbsent(target.asClass().name().toString(), k -> new ArrayList<>())
+                        .add(GrpcServerBean.ALL_METHODS);
+            } else if (target.kind() == AnnotationTarget.Kind.METHOD) {
+                MethodInfo method = target.asMethod();
+                result.computeIfAbsent(method.declaringClass().name().toString(), k -> new ArrayList<>())
+                        .add(method.name());
+            }
+        }
+        result.forEach((clazz, methods) -> LOGGER.debugf("Blocking gRPC methods detected in %s: %s", clazz, methods));
+        return result;
+    }
+
+    /**
+     * Collects the methods annotated with a method annotation, such as {@code @CacheResponse}.
+     *
+     * @return the names of the annotated methods per class name
+     */
+    private Map<String, List<String>> collectAnnotatedMethods(IndexView index, DotName annotation) {
+        Map<String, List<String>> result = new HashMap<>();
+        for (AnnotationInstance instance : index.getAnnotations(annotation)) {
+            MethodInfo method = instance.target().asMethod();
+            result.computeIfAbsent(method.declaringClass().name().toString(), k -> new ArrayList<>())
+                    .add(method.name());
+        }
+        result.forEach((clazz, methods) -> LOGGER.debugf("gRPC methods annotated with @%s detected in %s: %s",
+                annotation.withoutPackagePrefix(), clazz, methods));
+        return result;
+    }
+
     @BuildStep
     public void configureNativeExecutable(CombinedIndexBuildItem combinedIndex,
             BuildProducer<ReflectiveClassBuildItem> reflectiveClass,
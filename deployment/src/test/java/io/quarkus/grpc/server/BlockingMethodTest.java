@@ -0,0 +1,99 @@
+package io.quarkus.grpc.server;
+
+import com.google.protobuf.EmptyProtos;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.examples.helloworld.GreeterGrpc;
+import io.grpc.examples.helloworld.HelloReply;
+import io.grpc.examples.helloworld.HelloReplyOrBuilder;
+import io.grpc.examples.helloworld.HelloRequest;
+import io.grpc.examples.helloworld.HelloRequestOrBuilder;
+import io.grpc.examples.helloworld.MutinyGreeterGrpc;
+import io.grpc.testing.integration.Messages;
+import io.grpc.testing.integration.MutinyTestServiceGrpc;
+import io.grpc.testing.integration.TestServiceGrpc;
+import io.quarkus.grpc.runtime.annotations.Blocking;
+import io.quarkus.test.QuarkusUnitTest;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import javax.inject.Singleton;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BlockingMethodTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest().setArchiveProducer(
+            () -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(BlockingHelloService.class, BlockingTestService.class,
+                            GreeterGrpc.class, HelloRequest.class, HelloReply.class, MutinyGreeterGrpc.class,
+                            HelloRequestOrBuilder.class, HelloReplyOrBuilder.class,
+                            EmptyProtos.class, Messages.class, MutinyTestServiceGrpc.class,
+                            TestServiceGrpc.class));
+
+    protected ManagedChannel channel;
+
+    @BeforeEach
+    public void init() {
+        channel = ManagedChannelBuilder.forAddress("localhost", 9000)
+                .usePlaintext()
+                .build();
+    }
+
+    @AfterEach
+    public void shutdown() {
+        if (channel != null) {
+            channel.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testThatAnnotatedMethodsRunOnWorkerThreads() {
+        HelloReply reply = GreeterGrpc.newBlockingStub(channel)
+                .sayHello(HelloRequest.newBuilder().setName("neo").build());
+        assertThat(reply.getMessage()).isEqualTo("worker");
+    }
+
+    @Test
+    public void testThatAnnotatedClassesRunOnWorkerThreads() {
+        TestServiceGrpc.TestServiceBlockingStub stub = TestServiceGrpc.newBlockingStub(channel);
+        assertThat(stub.emptyCall(EmptyProtos.Empty.newBuilder().build())).isNotNull();
+        assertThat(stub.unaryCall(Messages.SimpleRequest.newBuilder().build()).getUsername()).isEqualTo("worker");
+    }
+
+    private static String threadKind() {
+        return Context.isOnWorkerThread() ? "worker" : "event-loop";
+    }
+
+    @Singleton
+    static class BlockingHelloService extends MutinyGreeterGrpc.GreeterImplBase {
+
+        @Override
+        @Blocking
+        public Uni<HelloReply> sayHello(HelloRequest request) {
+            return Uni.createFrom().item(HelloReply.newBuilder().setMessage(threadKind()).build());
+        }
+    }
+
+    @Singleton
+    @Blocking
+    static class BlockingTestService extends MutinyTestServiceGrpc.TestServiceImplBase {
+
+        @Override
+        public Uni<EmptyProtos.Empty> emptyCall(EmptyProtos.Empty request) {
+            return Uni.createFrom().item(EmptyProtos.Empty.newBuilder().build());
+        }
+
+        @Override
+        public Uni<Messages.SimpleResponse> unaryCall(Messages.SimpleRequest request) {
+            return Uni.createFrom().item(Messages.SimpleResponse.newBuilder().setUsername(threadKind()).build());
+        }
+    }
+}
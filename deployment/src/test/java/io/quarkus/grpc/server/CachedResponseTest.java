@@ -0,0 +1,95 @@
+package io.quarkus.grpc.server;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.examples.helloworld.GreeterGrpc;
+import io.grpc.examples.helloworld.HelloReply;
+import io.grpc.examples.helloworld.HelloReplyOrBuilder;
+import io.grpc.examples.helloworld.HelloRequest;
+import io.grpc.examples.helloworld.HelloRequestOrBuilder;
+import io.grpc.examples.helloworld.MutinyGreeterGrpc;
+import io.quarkus.grpc.runtime.GrpcServerBean;
+import io.quarkus.grpc.runtime.annotations.CacheResponse;
+import io.quarkus.grpc.runtime.cache.ResponseCaches;
+import io.quarkus.test.QuarkusUnitTest;
+import io.smallrye.mutiny.Uni;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachedResponseTest {
+
+    private static final AtomicInteger INVOCATIONS = new AtomicInteger();
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest().setArchiveProducer(
+            () -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(CachedHelloService.class, GreeterGrpc.class, HelloRequest.class, HelloReply.class,
+                            MutinyGreeterGrpc.class, HelloRequestOrBuilder.class, HelloReplyOrBuilder.class));
+
+    @Inject
+    GrpcServerBean server;
+
+    protected ManagedChannel channel;
+
+    @BeforeEach
+    public void init() {
+        ResponseCaches.invalidateAll();
+        INVOCATIONS.set(0);
+        channel = ManagedChannelBuilder.forAddress("localhost", 9000)
+                .usePlaintext()
+                .build();
+    }
+
+    @AfterEach
+    public void shutdown() {
+        if (channel != null) {
+            channel.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testThatIdenticalRequestsAreServedFromTheCache() {
+        GreeterGrpc.GreeterBlockingStub stub = GreeterGrpc.newBlockingStub(channel);
+        // Identical, but distinct, requests.
+        assertThat(stub.sayHello(HelloRequest.newBuilder().setName("neo").build()).getMessage())
+                .isEqualTo("Hello neo 1");
+        assertThat(stub.sayHello(HelloRequest.newBuilder().setName("neo").build()).getMessage())
+                .isEqualTo("Hello neo 1");
+        assertThat(stub.sayHello(HelloRequest.newBuilder().setName("trinity").build()).getMessage())
+                .isEqualTo("Hello trinity 2");
+        assertThat(INVOCATIONS.get()).isEqualTo(2);
+        assertThat(server.scrapeMetrics())
+                .contains("grpc_server_response_cache_hits_total{grpc_service=\"helloworld.Greeter\","
+                        + "grpc_method=\"SayHello\"} 1");
+    }
+
+    @Test
+    public void testThatInvalidatedResponsesAreComputedAgain() {
+        GreeterGrpc.GreeterBlockingStub stub = GreeterGrpc.newBlockingStub(channel);
+        HelloRequest request = HelloRequest.newBuilder().setName("neo").build();
+        assertThat(stub.sayHello(request).getMessage()).isEqualTo("Hello neo 1");
+        assertThat(ResponseCaches.get("helloworld.Greeter/SayHello").invalidate(request)).isTrue();
+        assertThat(stub.sayHello(request).getMessage()).isEqualTo("Hello neo 2");
+    }
+
+    @Singleton
+    static class CachedHelloService extends MutinyGreeterGrpc.GreeterImplBase {
+
+        @Override
+        @CacheResponse
+        public Uni<HelloReply> sayHello(HelloRequest request) {
+            return Uni.createFrom().item(HelloReply.newBuilder()
+                    .setMessage("Hello " + request.getName() + " " + INVOCATIONS.incrementAndGet()).build());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.quarkus.grpc.server;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.examples.helloworld.GreeterGrpc;
+import io.grpc.examples.helloworld.HelloReply;
+import io.grpc.examples.helloworld.HelloReplyOrBuilder;
+import io.grpc.examples.helloworld.HelloRequest;
+import io.grpc.examples.helloworld.HelloRequestOrBuilder;
+import io.grpc.examples.helloworld.MutinyGreeterGrpc;
+import io.quarkus.grpc.runtime.GrpcServerBean;
+import io.quarkus.grpc.server.services.MutinyHelloService;
+import io.quarkus.test.QuarkusUnitTest;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import javax.inject.Inject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GrpcServerInstancesTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest().setArchiveProducer(
+            () -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(MutinyHelloService.class,
+                            GreeterGrpc.class, HelloRequest.class, HelloReply.class, MutinyGreeterGrpc.class,
+                            HelloRequestOrBuilder.class, HelloReplyOrBuilder.class)
+                    .addAsResource(new StringAsset("quarkus.grpc-server.instances=3"), "application.properties"));
+
+    @Inject GrpcServerBean bean;
+
+    @Test
+    public void testThatAllInstancesAreStartedAndServeRequests() {
+        assertThat(bean.getGrpcServers()).hasSize(3)
+                .allSatisfy(server -> assertThat(server.getPort()).isEqualTo(9000));
+
+        ManagedChannel channel = ManagedChannelBuilder.forAddress("localhost", 9000)
+                .usePlaintext()
+                .build();
+        try {
+            for (int i = 0; i < 10; i++) {
+                HelloReply reply = GreeterGrpc.newBlockingStub(channel)
+                        .sayHello(HelloRequest.newBuilder().setName("neo-" + i).build());
+                assertThat(reply.getMessage()).isEqualTo("Hello neo-" + i);
+            }
+        } finally {
+            channel.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.quarkus.grpc.server.compression;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.Codec;
+import io.grpc.DecompressorRegistry;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.examples.helloworld.GreeterGrpc;
+import io.grpc.examples.helloworld.HelloReply;
+import io.grpc.examples.helloworld.HelloReplyOrBuilder;
+import io.grpc.examples.helloworld.HelloRequest;
+import io.grpc.examples.helloworld.HelloRequestOrBuilder;
+import io.grpc.examples.helloworld.MutinyGreeterGrpc;
+import io.quarkus.grpc.server.services.MutinyHelloService;
+import io.quarkus.test.QuarkusUnitTest;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CodecRegistrationTest {
+
+    @RegisterExtension
+    static final QuarkusUnitTest config = new QuarkusUnitTest().setArchiveProducer(
+            () -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(MutinyHelloService.class, DeflateCodec.class,
+                            GreeterGrpc.class, HelloRequest.class, HelloReply.class, MutinyGreeterGrpc.class,
+                            HelloRequestOrBuilder.class, HelloReplyOrBuilder.class)
+                    .addAsResource(new StringAsset("quarkus.grpc-server.compression.algorithm=deflate,gzip\n"
+                            + "quarkus.grpc-server.compression.min-message-size=0"), "application.properties"));
+
+    @Test
+    public void testThatTheCodecBeansAreNegotiated() {
+        assertThat(sayHello(DecompressorRegistry.getDefaultInstance().with(new DeflateCodec(), true)))
+                .isEqualTo("deflate");
+        assertThat(sayHello(DecompressorRegistry.getDefaultInstance())).isEqualTo("gzip");
+    }
+
+    private String sayHello(DecompressorRegistry decompressors) {
+        AtomicReference<String> encoding = new AtomicReference<>();
+        ManagedChannel channel = ManagedChannelBuilder.forAddress("localhost", 9000)
+                .usePlaintext()
+                .decompressorRegistry(decompressors)
+                .intercept(new EncodingCapture(encoding))
+                .build();
+        try {
+            HelloReply reply = GreeterGrpc.newBlockingStub(channel)
+                    .sayHello(HelloRequest.newBuilder().setName("neo").build());
+            assertThat(reply.getMessage()).isEqualTo("Hello neo");
+            return encoding.get();
+        } finally {
+            channel.shutdownNow();
+        }
+    }
+
+    @ApplicationScoped
+    public static class DeflateCodec implements Codec {
+
+        @Override
+        public String getMessageEncoding() {
+            return "deflate";
+        }
+
+        @Override
+        public OutputStream compress(OutputStream os) {
+            return new DeflaterOutputStream(os);
+        }
+
+        @Override
+        public InputStream decompress(InputStream is) {
+            return new InflaterInputStream(is);
+        }
+    }
+
+    static class EncodingCapture implements ClientInterceptor {
+
+        private static final Metadata.Key<String> ENCODING = Metadata.Key.of("grpc-encoding",
+                Metadata.ASCII_STRING_MARSHALLER);
+
+        private final AtomicReference<String> encoding;
+
+        EncodingCapture(AtomicReference<String> encoding) {
+            this.encoding = encoding;
+        }
+
+        @Override
+        public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                CallOptions callOptions, Channel next) {
+            return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(next.newCall(method, callOptions)) {
+                @Override
+                public void start(Listener<RespT> responseListener, Metadata headers) {
+                    super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(
+                            responseListener) {
+                        @Override
+                        public void onHeaders(Metadata headers) {
+                            encoding.set(headers.get(ENCODING));
+                            super.onHeaders(headers);
+                        }
+                    }, headers);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package io.quarkus.grpc.runtime;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.quarkus.grpc.runtime.metrics.StreamingMetrics;
+import io.smallrye.mutiny.subscription.Cancellable;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Subscriber forwarding the items of a {@code Multi} to a {@link ServerCallStreamObserver}.
+ * <p>
+ * Items are only requested when the transport is ready: at most {@code prefetch} items are requested but not yet
+ * received. When the transport is not ready anymore, no new items are requested until the
+ * {@link ServerCallStreamObserver#setOnReadyHandler(Runnable) on ready handler} is called.
+ * <p>
+ * Once {@link #cancel() cancelled}, the subscription is cancelled and the remaining items are dropped.
+ *
+ * @param <O> the type of item
+ */
+class BackPressuredResponseSubscriber<O> implements Subscriber<O>, Cancellable {
+
+    private final ServerCallStreamObserver<O> observer;
+    private final int prefetch;
+    private final int limit;
+    private final AtomicLong outstanding = new AtomicLong();
+
+    private volatile Subscription subscription;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private volatile long stalledSince = -1;
+
+    BackPressuredResponseSubscriber(ServerCallStreamObserver<O> observer, int prefetch) {
+        this.observer = observer;
+        this.prefetch = Math.max(prefetch, 1);
+        // Replenish when half of the requested items have been received.
+        this.limit = this.prefetch - (this.prefetch >> 1);
+        // Must be called before the service method returns.
+        observer.setOnReadyHandler(this::onReady);
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        subscription = s;
+        if (cancelled) {
+            s.cancel();
+            return;
+        }
+        replenish();
+    }
+
+    @Override
+    public void onNext(O item) {
+        if (cancelled) {
+            return;
+        }
+        outstanding.decrementAndGet();
+        observer.onNext(item);
+        if (observer.isReady()) {
+            replenish();
+        } else if (stalledSince == -1) {
+            stalledSince = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void onError(Throwable failure) {
+        if (cancelled) {
+            return;
+        }
+        done = true;
+        observer.onError(ServerCalls.toStatusFailure(failure));
+    }
+
+    @Override
+    public void onComplete() {
+        if (cancelled) {
+            return;
+        }
+        done = true;
+        observer.onCompleted();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        done = true;
+        Subscription s = subscription;
+        if (s != null) {
+            s.cancel();
+        }
+    }
+
+    private void onReady() {
+        long since = stalledSince;
+        if (since != -1) {
+            stalledSince = -1;
+            StreamingMetrics.recordOutboundStall(System.nanoTime() - since);
+        }
+        replenish();
+    }
+
+    private void replenish() {
+        Subscription s = subscription;
+        if (s == null || done || !observer.isReady()) {
+            return;
+        }
+        for (;;) {
+            long current = outstanding.get();
+            if (current > prefetch - limit) {
+                return;
+            }
+            if (outstanding.compareAndSet(current, prefetch)) {
+                s.request(prefetch - current);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.quarkus.grpc.runtime;
+
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.vertx.core.Vertx;
+import org.jboss.logging.Logger;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * gRPC Server interceptor offloading the calls to the methods annotated with
+ * {@link io.quarkus.grpc.runtime.annotations.Blocking} to the worker thread pool.
+ * <p>
+ * The events of a call are executed in order, but different calls are executed concurrently.
+ * Calls to non-blocking methods are not affected and stay on the event loop.
+ */
+public class BlockingServerInterceptor implements ServerInterceptor {
+
+    private static final Logger LOGGER = Logger.getLogger(BlockingServerInterceptor.class.getName());
+
+    private final Vertx vertx;
+    private final Set<String> blockingMethods;
+
+    /**
+     * @param vertx the Vert.x instance providing the worker pool
+     * @param blockingMethods the full names of the blocking methods, such as {@code helloworld.Greeter/SayHello}
+     */
+    public BlockingServerInterceptor(Vertx vertx, Set<String> blockingMethods) {
+        this.vertx = vertx;
+        this.blockingMethods = blockingMethods;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+        if (!blockingMethods.contains(call.getMethodDescriptor().getFullMethodName())) {
+            return next.startCall(call, headers);
+        }
+        WorkerListener<ReqT> listener = new WorkerListener<>(vertx);
+        listener.execute(() -> listener.delegate = next.startCall(call, headers));
+        return listener;
+    }
+
+    /**
+     * Listener forwarding the events to the actual listener from a worker thread.
+     * The events are executed sequentially, in the order they have been received.
+     */
+    private static class WorkerListener<ReqT> extends ServerCall.Listener<ReqT> {
+
+        private final Vertx vertx;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        // Only accessed from the tasks
+        private ServerCall.Listener<ReqT> delegate;
+
+        WorkerListener(Vertx vertx) {
+            this.vertx = vertx;
+        }
+
+        void execute(Runnable task) {
+            tasks.add(task);
+            if (wip.getAndIncrement() == 0) {
+                vertx.<Void> executeBlocking(promise -> {
+                    drain();
+                    promise.complete();
+                }, false, null);
+            }
+        }
+
+        private void drain() {
+            do {
+                Runnable task = tasks.poll();
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    LOGGER.error("Unexpected failure while executing a blocking gRPC call", t);
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        @Override
+        public void onMessage(ReqT message) {
+            execute(() -> delegate.onMessage(message));
+        }
+
+        @Override
+        public void onHalfClose() {
+            execute(() -> delegate.onHalfClose());
+        }
+
+        @Override
+        public void onCancel() {
+            execute(() -> delegate.onCancel());
+        }
+
+        @Override
+        public void onComplete() {
+            execute(() -> delegate.onComplete());
+        }
+
+        @Override
+        public void onReady() {
+            execute(() -> delegate.onReady());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.quarkus.grpc.runtime;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.quarkus.grpc.runtime.metrics.CancellationMetrics;
+import io.smallrye.mutiny.subscription.Cancellable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cancels the subscription to the {@code Uni} or {@code Multi} produced by a service method when the client cancels
+ * the call or its deadline expires. The cancellation propagates upstream, up to the stream of messages sent by the
+ * client.
+ */
+final class CallCancellation implements Runnable {
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private volatile Cancellable work;
+
+    private CallCancellation() {
+    }
+
+    /**
+     * Registers the cancellation handler of the call. Must be called before the service method returns.
+     *
+     * @param response the response observer
+     * @return the cancellation, to which the subscription must be attached
+     */
+    static CallCancellation register(StreamObserver<?> response) {
+        CallCancellation cancellation = new CallCancellation();
+        if (response instanceof ServerCallStreamObserver) {
+            ((ServerCallStreamObserver<?>) response).setOnCancelHandler(cancellation);
+        }
+        return cancellation;
+    }
+
+    /**
+     * Attaches the subscription, which is cancelled immediately if the call has already been cancelled.
+     *
+     * @param work the subscription
+     */
+    void attach(Cancellable work) {
+        this.work = work;
+        if (cancelled.get()) {
+            work.cancel();
+        }
+    }
+
+    @Override
+    public void run() {
+        if (cancelled.compareAndSet(false, true)) {
+            CancellationMetrics.recordCancelledCall();
+            Cancellable current = work;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+}
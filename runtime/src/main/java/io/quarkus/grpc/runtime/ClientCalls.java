@@ -1,9 +1,18 @@
 package io.quarkus.grpc.runtime;
 
+import com.google.protobuf.ByteString;
+import io.grpc.Channel;
+import io.grpc.MethodDescriptor;
 import io.grpc.stub.StreamObserver;
+import io.quarkus.grpc.runtime.batching.BatchingChannel;
+import io.quarkus.grpc.runtime.batching.CallBatcher;
+import io.quarkus.grpc.runtime.cache.CachingChannel;
+import io.quarkus.grpc.runtime.cache.ClientResponseCache;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
 
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
@@ -16,6 +25,64 @@ public class ClientCalls {
         return Uni.createFrom().emitter(emitter -> delegate.accept(request, new UniStreamObserver<>(emitter)));
     }
 
+    /**
+     * Invokes a unary method. When the channel caches the responses of the method, a cached response is returned
+     * without using the channel. A stale response is returned while a single call refreshes it in the background.
+     * When the channel batches the calls, the start of the call is delayed until its batch is started, and the call is
+     * dropped if it has been cancelled in the meantime.
+     */
+    public static <I, O> Uni<O> oneToOne(I request, BiConsumer<I, StreamObserver<O>> delegate, Channel channel,
+            MethodDescriptor<I, O> method) {
+        CallBatcher batcher = BatchingChannel.getBatcher(channel);
+        ClientResponseCache cache = CachingChannel.getCache(channel, method);
+        if (batcher == null && cache == null) {
+            return oneToOne(request, delegate);
+        }
+        return Uni.createFrom().emitter(emitter -> {
+            BiConsumer<I, StreamObserver<O>> invoker = delegate;
+            if (batcher != null) {
+                AtomicBoolean terminated = new AtomicBoolean();
+                emitter.onTermination(() -> terminated.set(true));
+                invoker = batched(batcher, delegate, terminated);
+            }
+            if (cache == null) {
+                invoker.accept(request, new UniStreamObserver<>(emitter));
+                return;
+            }
+            ByteString key = cache.keyOf(request);
+            // Nobody waits for a background refresh, so it is never dropped.
+            BiConsumer<I, StreamObserver<O>> refresher = batcher == null ? delegate : batched(batcher, delegate, null);
+            O cached = cache.get(key, () -> refresher.accept(request, new CachingStreamObserver<>(cache, key, null)));
+            if (cached != null) {
+                emitter.complete(cached);
+            } else {
+                invoker.accept(request, new CachingStreamObserver<>(cache, key, emitter));
+            }
+        });
+    }
+
+    /**
+     * @param cancelled whether the caller has cancelled the call, {@code null} if the call cannot be cancelled
+     * @return an invoker submitting the calls to the batcher, and dropping the calls cancelled before their start
+     */
+    private static <I, O> BiConsumer<I, StreamObserver<O>> batched(CallBatcher batcher,
+            BiConsumer<I, StreamObserver<O>> delegate, AtomicBoolean cancelled) {
+        return (request, observer) -> batcher.submit(() -> {
+            if (cancelled == null || !cancelled.get()) {
+                start(request, observer, delegate);
+            }
+        });
+    }
+
+    private static <I, O> void start(I request, StreamObserver<O> observer,
+            BiConsumer<I, StreamObserver<O>> delegate) {
+        try {
+            delegate.accept(request, observer);
+        } catch (Throwable failure) {
+            observer.onError(failure);
+        }
+    }
+
     public static <I, O> Multi<O> oneToMany(I request, BiConsumer<I, StreamObserver<O>> delegate) {
         return Multi.createFrom().emitter(emitter -> delegate.accept(request, new MultiStreamObserver<>(emitter)));
     }
@@ -42,4 +109,42 @@ public class ClientCalls {
         }));
 
     }
+
+    /**
+     * Caches the response, and forwards it to the caller if any. Without caller, the call refreshes a stale response.
+     */
+    private static class CachingStreamObserver<O> implements StreamObserver<O> {
+
+        private final ClientResponseCache cache;
+        private final ByteString key;
+        private final UniEmitter<? super O> caller;
+
+        CachingStreamObserver(ClientResponseCache cache, ByteString key, UniEmitter<? super O> caller) {
+            this.cache = cache;
+            this.key = key;
+            this.caller = caller;
+        }
+
+        @Override
+        public void onNext(O item) {
+            cache.put(key, item);
+            if (caller != null) {
+                caller.complete(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            if (caller != null) {
+                caller.fail(failure);
+            } else {
+                cache.revalidationFailed(key);
+            }
+        }
+
+        @Override
+        public void onCompleted() {
+            // Do nothing.
+        }
+    }
 }
@@ -0,0 +1,157 @@
+package io.quarkus.grpc.runtime;
+
+import io.grpc.Attributes;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerTransportFilter;
+import io.grpc.Status;
+import io.quarkus.grpc.runtime.metrics.RejectionMetrics;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the number of connections served by the server and the number of calls in flight per connection.
+ * <p>
+ * It is registered both as transport filter, to track the connections, and as interceptor, to reject the calls:
+ * <ul>
+ * <li>connections accepted beyond the max number of connections are not served: their calls are rejected with
+ * {@code UNAVAILABLE} until a slot is freed by another connection. The connection stays open: a client using the
+ * default {@code pick_first} policy keeps sending its calls on it, so {@code max-connection-age} should be configured
+ * to recycle these connections,</li>
+ * <li>calls beyond the max number of calls of a connection are rejected with {@code RESOURCE_EXHAUSTED}.</li>
+ * </ul>
+ * The connection count is shared by all the server instances.
+ */
+public class ConnectionLimitInterceptor extends ServerTransportFilter implements ServerInterceptor {
+
+    public static final String MAX_CONNECTIONS = "max_connections";
+    public static final String MAX_CALLS_PER_CONNECTION = "max_calls_per_connection";
+
+    private static final Attributes.Key<Connection> CONNECTION = Attributes.Key.create("quarkus-grpc-connection");
+
+    private final int maxConnections;
+    private final int maxCallsPerConnection;
+    private final AtomicInteger connections = new AtomicInteger();
+
+    /**
+     * @param maxConnections the max number of connections served, {@link Integer#MAX_VALUE} for no limit
+     * @param maxCallsPerConnection the max number of calls in flight per connection, {@link Integer#MAX_VALUE} for
+     *        no limit
+     */
+    public ConnectionLimitInterceptor(int maxConnections, int maxCallsPerConnection) {
+        this.maxConnections = maxConnections;
+        this.maxCallsPerConnection = maxCallsPerConnection;
+    }
+
+    @Override
+    public Attributes transportReady(Attributes transportAttrs) {
+        Connection connection = new Connection();
+        connection.admitted.set(tryAdmit());
+        return transportAttrs.toBuilder().set(CONNECTION, connection).build();
+    }
+
+    @Override
+    public void transportTerminated(Attributes transportAttrs) {
+        Connection connection = transportAttrs.get(CONNECTION);
+        if (connection != null && connection.admitted.compareAndSet(true, false)) {
+            connections.decrementAndGet();
+        }
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+        Connection connection = call.getAttributes().get(CONNECTION);
+        if (connection == null) {
+            return next.startCall(call, headers);
+        }
+
+        if (!connection.admitted.get() && !(tryAdmit() && admit(connection))) {
+            return reject(call, MAX_CONNECTIONS, Status.UNAVAILABLE.withDescription("Too many connections"));
+        }
+
+        if (connection.calls.incrementAndGet() > maxCallsPerConnection) {
+            connection.calls.decrementAndGet();
+            return reject(call, MAX_CALLS_PER_CONNECTION,
+                    Status.RESOURCE_EXHAUSTED.withDescription("Too many calls in flight on the connection"));
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                connection.calls.decrementAndGet();
+            }
+        };
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(call, headers);
+        } catch (RuntimeException e) {
+            release.run();
+            throw e;
+        }
+
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<ReqT>(listener) {
+            @Override
+            public void onComplete() {
+                try {
+                    super.onComplete();
+                } finally {
+                    release.run();
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                try {
+                    super.onCancel();
+                } finally {
+                    release.run();
+                }
+            }
+        };
+    }
+
+    /**
+     * @return the number of connections currently served
+     */
+    public int getConnections() {
+        return connections.get();
+    }
+
+    private boolean tryAdmit() {
+        int current;
+        do {
+            current = connections.get();
+            if (current >= maxConnections) {
+                return false;
+            }
+        } while (!connections.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private boolean admit(Connection connection) {
+        if (connection.admitted.compareAndSet(false, true)) {
+            return true;
+        }
+        // Admitted concurrently by another call of the same connection, release the extra slot.
+        connections.decrementAndGet();
+        return true;
+    }
+
+    private static <ReqT, RespT> ServerCall.Listener<ReqT> reject(ServerCall<ReqT, RespT> call, String reason,
+            Status status) {
+        RejectionMetrics.record(reason);
+        call.close(status, new Metadata());
+        return new ServerCall.Listener<ReqT>() {
+        };
+    }
+
+    private static class Connection {
+        private final AtomicBoolean admitted = new AtomicBoolean();
+        private final AtomicInteger calls = new AtomicInteger();
+    }
+}
@@ -0,0 +1,194 @@
+package io.quarkus.grpc.runtime;
+
+import io.grpc.stub.CallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.quarkus.grpc.runtime.metrics.StreamingMetrics;
+import io.quarkus.grpc.runtime.supports.SpscArrayQueue;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exposes the messages sent by the client as a {@link Publisher}, requesting messages from the transport only when
+ * the downstream subscriber requests them.
+ * <p>
+ * The automatic inbound flow control of the call is disabled. Messages are requested from the transport with
+ * {@link CallStreamObserver#request(int)}, so at most {@code bufferSize} messages are buffered, whatever the speed
+ * of the consumer.
+ *
+ * @param <I> the type of message
+ */
+class FlowControlledInboundStream<I> implements StreamObserver<I>, Publisher<I>, Subscription {
+
+    private final CallStreamObserver<?> call;
+    private final int bufferSize;
+    private final SpscArrayQueue<I> queue;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+
+    // Only accessed from the drain loop
+    private long emitted;
+    private long transportRequested;
+
+    private volatile Subscriber<? super I> downstream;
+    private volatile boolean cancelled;
+    private volatile boolean done;
+    private volatile Throwable failure;
+
+    FlowControlledInboundStream(CallStreamObserver<?> call, int bufferSize) {
+        this.call = call;
+        this.bufferSize = Math.max(bufferSize, 1);
+        this.queue = new SpscArrayQueue<>(this.bufferSize);
+        // Must be called before the service method returns.
+        call.disableAutoInboundFlowControl();
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super I> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    // Ignored
+                }
+
+                @Override
+                public void cancel() {
+                    // Ignored
+                }
+            });
+            subscriber.onError(new IllegalStateException("The inbound stream only supports a single subscriber"));
+            return;
+        }
+        downstream = subscriber;
+        subscriber.onSubscribe(this);
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            onError(new IllegalArgumentException("Invalid request: " + n));
+            return;
+        }
+        for (;;) {
+            long current = requested.get();
+            long next = current + n;
+            if (next < 0) {
+                next = Long.MAX_VALUE;
+            }
+            if (requested.compareAndSet(current, next)) {
+                break;
+            }
+        }
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        drain();
+    }
+
+    @Override
+    public void onNext(I item) {
+        if (!queue.offer(item)) {
+            // Cannot happen unless the transport sends more than requested.
+            onError(new IllegalStateException("Inbound buffer overflow"));
+            return;
+        }
+        StreamingMetrics.incrementInboundBuffered();
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        failure = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onCompleted() {
+        done = true;
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            Subscriber<? super I> subscriber = downstream;
+            if (cancelled) {
+                discard();
+            } else if (subscriber != null) {
+                long demand = requested.get();
+                while (emitted != demand && !cancelled) {
+                    I item = queue.poll();
+                    if (item == null) {
+                        break;
+                    }
+                    StreamingMetrics.decrementInboundBuffered(1);
+                    emitted++;
+                    subscriber.onNext(item);
+                }
+
+                if (cancelled) {
+                    discard();
+                } else if (done && queue.isEmpty()) {
+                    terminate(subscriber);
+                    return;
+                } else {
+                    requestFromTransport(demand);
+                }
+            }
+
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Requests new messages from the transport, without exceeding the downstream demand nor the buffer capacity.
+     */
+    private void requestFromTransport(long demand) {
+        if (done) {
+            return;
+        }
+        // Messages requested from the transport, but not yet emitted downstream (in flight or buffered).
+        long pending = transportRequested - emitted;
+        long target = Math.min(demand - emitted, bufferSize);
+        long toRequest = target - pending;
+        if (toRequest > 0) {
+            transportRequested += toRequest;
+            call.request((int) toRequest);
+        }
+    }
+
+    private void terminate(Subscriber<? super I> subscriber) {
+        downstream = null;
+        Throwable f = failure;
+        if (f != null) {
+            subscriber.onError(f);
+        } else {
+            subscriber.onComplete();
+        }
+    }
+
+    private void discard() {
+        downstream = null;
+        int size = queue.size();
+        queue.clear();
+        StreamingMetrics.decrementInboundBuffered(size);
+    }
+}
@@ -1,14 +1,42 @@
 package io.quarkus.grpc.runtime;
 
 import io.grpc.BindableService;
+import io.grpc.Codec;
+import io.grpc.CompressorRegistry;
+import io.grpc.DecompressorRegistry;
 import io.grpc.ServerInterceptor;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.netty.NettyServerBuilder;
+import io.netty.channel.ChannelOption;
+import io.netty.util.concurrent.EventExecutor;
+import io.quarkus.grpc.runtime.cache.RequestCoalescing;
+import io.quarkus.grpc.runtime.cache.ResponseCaches;
+import io.quarkus.grpc.runtime.compression.Codecs;
+import io.quarkus.grpc.runtime.compression.CompressionServerInterceptor;
+import io.quarkus.grpc.runtime.config.GrpcCompressionConfig;
+import io.quarkus.grpc.runtime.config.GrpcConnectionConfig;
+import io.quarkus.grpc.runtime.config.GrpcFlowControlConfig;
+import io.quarkus.grpc.runtime.config.GrpcLoadSheddingConfig;
 import io.quarkus.grpc.runtime.config.GrpcServerConfiguration;
+import io.quarkus.grpc.runtime.config.GrpcTransportConfig;
+import io.quarkus.grpc.runtime.limits.ConcurrencyLimitInterceptor;
+import io.quarkus.grpc.runtime.limits.EventLoopLagMonitor;
+import io.quarkus.grpc.runtime.limits.LoadSheddingInterceptor;
+import io.quarkus.grpc.runtime.metrics.CancellationMetrics;
+import io.quarkus.grpc.runtime.metrics.PrometheusWriter;
+import io.quarkus.grpc.runtime.metrics.RejectionMetrics;
+import io.quarkus.grpc.runtime.metrics.ServerMetricsInterceptor;
+import io.quarkus.grpc.runtime.metrics.StreamingMetrics;
 import io.quarkus.grpc.runtime.config.SslConfig;
+import io.quarkus.grpc.runtime.supports.AliasingMarshaller;
 import io.quarkus.runtime.ShutdownContext;
+import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.http.HttpVersion;
+import io.vertx.core.impl.VertxInternal;
 import io.vertx.core.net.JksOptions;
 import io.vertx.core.net.PemKeyCertOptions;
 import io.vertx.core.net.PfxOptions;
@@ -28,10 +56,17 @@ import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -45,12 +80,201 @@ public class GrpcServerBean {
 
     @Inject @Any Instance<ServerInterceptor> interceptors;
 
+    @Inject @Any Instance<Codec> codecs;
+
+    /**
+     * Marker used when all the methods of a class are blocking.
+     */
+    public static final String ALL_METHODS = "*";
+
     private static final Logger LOGGER = Logger.getLogger(GrpcServerBean.class.getName());
-    private volatile VertxServer server;
+    private final List<VertxServer> servers = new CopyOnWriteArrayList<>();
+    private final InFlightCallsInterceptor inFlightCalls = new InFlightCallsInterceptor();
+    private volatile ServerMetricsInterceptor metrics;
+    private volatile ConnectionLimitInterceptor connectionLimits;
+    private volatile ConcurrencyLimitInterceptor concurrencyLimits;
+    private volatile EventLoopLagMonitor lagMonitor;
+    private volatile String deploymentId;
+
+    public void init(GrpcServerConfiguration configuration, ShutdownContext shutdown,
+            Map<String, List<String>> blockingMethodsPerClass, Map<String, List<String>> cachedMethodsPerClass,
+            Map<String, List<String>> coalescedMethodsPerClass) {
+        if (services.isUnsatisfied()) {
+            LOGGER.warn("Unable to find bean exposing the `BindableService` interface - not starting the gRPC server");
+            return;
+        }
+
+        ServerCalls.configure(configuration.streaming);
+        shutdown.addShutdownTask(ResponseCaches::clear);
+        shutdown.addShutdownTask(RequestCoalescing::clear);
+
+        // Services and interceptors are shared by all the server instances.
+        List<ServerServiceDefinition> definitions = new ArrayList<>();
+        Set<String> blockingMethods = new HashSet<>();
+        List<String> aliasingServices = configuration.aliasingServices.orElse(Collections.emptyList());
+        services.forEach(bindable -> {
+            ServerServiceDefinition definition = bindable.bindService();
+            String name = definition.getServiceDescriptor().getName();
+            if (aliasingServices.contains(name)) {
+                definition = AliasingMarshaller.withAliasing(definition);
+                LOGGER.debugf("Inbound messages of GRPC service '%s' are parsed with aliasing", name);
+            }
+            Set<String> cachedMethods = getAnnotatedMethods(bindable, definition, cachedMethodsPerClass);
+            if (!cachedMethods.isEmpty()) {
+                definition = ResponseCaches.withCaching(definition, cachedMethods, configuration.responseCache);
+            }
+            Set<String> coalescedMethods = getAnnotatedMethods(bindable, definition, coalescedMethodsPerClass);
+            if (!coalescedMethods.isEmpty()) {
+                definition = RequestCoalescing.withCoalescing(definition, coalescedMethods);
+            }
+            definitions.add(definition);
+            blockingMethods.addAll(getAnnotatedMethods(bindable, definition, blockingMethodsPerClass));
+            LOGGER.infof("Registered GRPC service '%s'", name);
+        });
+
+        List<Codec> codecList = codecs.stream().collect(Collectors.toList());
+        codecList.forEach(codec -> LOGGER.infof("Registered GRPC codec '%s'", codec.getMessageEncoding()));
+        CompressorRegistry compressors = Codecs.createCompressorRegistry(codecList);
+        DecompressorRegistry decompressors = Codecs.createDecompressorRegistry(codecList);
+
+        List<ServerInterceptor> sortedInterceptors = new ArrayList<>();
+        if (!blockingMethods.isEmpty()) {
+            LOGGER.debugf("gRPC methods invoked on worker threads: %s", blockingMethods);
+            // The interceptors registered last are invoked first, so the user interceptors stay on the event loop.
+            sortedInterceptors.add(new BlockingServerInterceptor(vertx, blockingMethods));
+        }
+        sortedInterceptors.addAll(getSortedInterceptors());
+        if (ConcurrencyLimitInterceptor.isEnabled(configuration.concurrencyLimit)) {
+            // Invoked before the user interceptors, so the rejected calls do not reach them.
+            concurrencyLimits = new ConcurrencyLimitInterceptor(configuration.concurrencyLimit);
+            sortedInterceptors.add(concurrencyLimits);
+        }
+        if (isCompressionEnabled(configuration.compression)) {
+            sortedInterceptors.add(new CompressionServerInterceptor(configuration.compression, compressors));
+        }
+        if (configuration.connection.idleStreamTimeout.isPresent()) {
+            Duration timeout = configuration.connection.idleStreamTimeout.get();
+            IdleStreamInterceptor idleStreams = new IdleStreamInterceptor(timeout);
+            long timerId = vertx.setPeriodic(Math.max(timeout.toMillis() / 2, 100), id -> {
+                int reaped = idleStreams.reapIdleStreams();
+                if (reaped > 0) {
+                    LOGGER.debugf("%d idle GRPC streams closed", reaped);
+                }
+            });
+            shutdown.addShutdownTask(() -> vertx.cancelTimer(timerId));
+            sortedInterceptors.add(idleStreams);
+        }
+        if (configuration.metrics.enabled) {
+            metrics = new ServerMetricsInterceptor(configuration.metrics.maxMethods);
+            sortedInterceptors.add(metrics);
+        }
+        GrpcConnectionConfig connection = configuration.connection;
+        if (connection.maxConnections.isPresent() || connection.maxCallsPerConnection.isPresent()) {
+            connectionLimits = new ConnectionLimitInterceptor(
+                    connection.maxConnections.orElse(Integer.MAX_VALUE),
+                    connection.maxCallsPerConnection.orElse(Integer.MAX_VALUE));
+            sortedInterceptors.add(connectionLimits);
+        }
+        GrpcLoadSheddingConfig loadShedding = configuration.loadShedding;
+        if (loadShedding.enabled) {
+            EventLoopLagMonitor monitor = new EventLoopLagMonitor(((VertxInternal) vertx).getEventLoopGroup(),
+                    loadShedding.sampleInterval);
+            monitor.start();
+            shutdown.addShutdownTask(monitor::stop);
+            lagMonitor = monitor;
+            sortedInterceptors.add(new LoadSheddingInterceptor(monitor, loadShedding.lagThreshold,
+                    loadShedding.retryPushback, new HashSet<>(loadShedding.critical.orElse(Collections.emptyList()))));
+        }
+        // Registered last, so it sees every call, including the calls rejected by the other interceptors.
+        sortedInterceptors.add(inFlightCalls);
+
+        int instances = configuration.instances.orElseGet(this::getEventLoopCount);
+        LOGGER.infof("Starting GRPC Server on %s:%d  [SSL enabled: %s, instances: %d]...",
+                configuration.host, configuration.port, !configuration.plainText, instances);
+
+        CountDownLatch startLatch = new CountDownLatch(1);
+        vertx.deployVerticle(
+                () -> new GrpcServerVerticle(() -> createServerBuilder(configuration, definitions, sortedInterceptors,
+                        compressors, decompressors),
+                        servers::add),
+                new DeploymentOptions().setInstances(instances),
+                ar -> {
+                    if (ar.succeeded()) {
+                        deploymentId = ar.result();
+                        LOGGER.infof("GRPC Server started on %s:%d [SSL enabled: %s]",
+                                configuration.host, configuration.port, !configuration.plainText);
+                    } else {
+                        LOGGER.errorf(ar.cause(), "Unable to start GRPC server on %s:%d", configuration.host,
+                                configuration.port);
+                    }
+                    startLatch.countDown();
+                });
+
+        try {
+            if (!startLatch.await(configuration.startTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Unable to start the GRPC server on " + configuration.host + ":"
+                        + configuration.port + " within " + configuration.startTimeout
+                        + " - see `quarkus.grpc-server.start-timeout`");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting the GRPC server", e);
+        }
+
+        shutdown.addLastShutdownTask(() -> {
+                    if (deploymentId != null) {
+                        // The drain and the undeploy share the shutdown timeout.
+                        long deadline = System.nanoTime() + configuration.shutdownTimeout.toNanos();
+                        drain(configuration.shutdownTimeout);
+
+                        LOGGER.info("Stopping GRPC server");
+                        CountDownLatch latch = new CountDownLatch(1);
+                        vertx.undeploy(deploymentId, ar -> {
+                            if (ar.failed()) {
+                                LOGGER.errorf(ar.cause(), "Unable to stop the GRPC server gracefully");
+                            }
+                            latch.countDown();
+                        });
 
-    public void init(GrpcServerConfiguration configuration, ShutdownContext shutdown) {
-        // TODO Support scalability model (using a verticle and instance number)
+                        try {
+                            if (!latch.await(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS)) {
+                                LOGGER.errorf("Unable to stop the GRPC server gracefully after %s",
+                                        configuration.shutdownTimeout);
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            LOGGER.error("Interrupted while stopping the GRPC server");
+                        }
 
+                        deploymentId = null;
+                        servers.clear();
+                    }
+                }
+        );
+    }
+
+    /**
+     * Rejects the new calls and waits for the calls in flight to complete.
+     * The calls still in flight after the timeout are cancelled when the server is stopped.
+     */
+    private void drain(Duration timeout) {
+        inFlightCalls.startDraining();
+        LOGGER.infof("Draining GRPC server - %d unary and %d streaming calls in flight",
+                inFlightCalls.getInFlightUnaryCalls(), inFlightCalls.getInFlightStreamingCalls());
+        try {
+            if (!inFlightCalls.awaitDrained(timeout)) {
+                LOGGER.warnf("%d GRPC calls still in flight after %s, cancelling them",
+                        inFlightCalls.getInFlightCalls(), timeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while draining the GRPC server");
+        }
+    }
+
+    private VertxServerBuilder createServerBuilder(GrpcServerConfiguration configuration,
+            List<ServerServiceDefinition> definitions, List<ServerInterceptor> sortedInterceptors,
+            CompressorRegistry compressors, DecompressorRegistry decompressors) {
         VertxServerBuilder builder = VertxServerBuilder
                 .forAddress(vertx, configuration.host, configuration.port);
 
@@ -63,6 +287,7 @@ public class GrpcServerBean {
         });
 
         configuration.maxInboundMessageSize.ifPresent(builder::maxInboundMessageSize);
+        configuration.maxInboundMetadataSize.ifPresent(size -> builder.nettyBuilder().maxInboundMetadataSize(size));
         configuration.handshakeTimeout.ifPresent(d -> builder.handshakeTimeout(d.toMillis(), TimeUnit.MILLISECONDS));
 
         if (configuration.transportSecurity != null) {
@@ -77,52 +302,108 @@ public class GrpcServerBean {
             }
         }
 
-        if (services.isUnsatisfied()) {
-            LOGGER.warn("Unable to find bean exposing the `BindableService` interface - not starting the gRPC server");
-            return;
+        applyTransportOptions(configuration.transport, builder.nettyBuilder());
+        applyConnectionOptions(configuration.connection, builder.nettyBuilder());
+        applyFlowControlOptions(configuration.flowControl, builder.nettyBuilder());
+        if (connectionLimits != null) {
+            builder.nettyBuilder().addTransportFilter(connectionLimits);
         }
+        builder.compressorRegistry(compressors);
+        builder.decompressorRegistry(decompressors);
 
-        services.forEach(bindable -> {
-            builder.addService(bindable);
-            LOGGER.infof("Registered GRPC service '%s'", bindable.bindService().getServiceDescriptor().getName());
-        });
+        definitions.forEach(builder::addService);
+        sortedInterceptors.forEach(builder::intercept);
+        return builder;
+    }
 
-        getSortedInterceptors().forEach(builder::intercept);
-
-        LOGGER.infof("Starting GRPC Server on %s:%d  [SSL enabled: %s]...",
-                configuration.host, configuration.port, !configuration.plainText);
-        server = builder.build().start(ar -> {
-            if (ar.succeeded()) {
-                LOGGER.infof("GRPC Server started on %s:%d [SSL enabled: %s]",
-                        configuration.host, configuration.port, !configuration.plainText);
-            } else {
-                LOGGER.errorf(ar.cause(), "Unable to start GRPC server on %s:%d", configuration.host,
-                        configuration.port);
+    /**
+     * Computes the full names of the annotated methods of a service, such as the blocking methods.
+     *
+     * @param bindable the service bean, potentially a client proxy or a subclass of the service class
+     * @param definition the service definition
+     * @param methodsPerClass the names of the annotated Java methods per class, {@link #ALL_METHODS} if the class is
+     *        annotated
+     * @return the set of full method names, such as {@code helloworld.Greeter/SayHello}
+     */
+    private static Set<String> getAnnotatedMethods(BindableService bindable, ServerServiceDefinition definition,
+            Map<String, List<String>> methodsPerClass) {
+        Set<String> javaMethods = new HashSet<>();
+        for (Class<?> clazz = bindable.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            javaMethods.addAll(methodsPerClass.getOrDefault(clazz.getName(), Collections.emptyList()));
+        }
+        if (javaMethods.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        Set<String> normalized = javaMethods.stream().map(GrpcServerBean::normalizeMethodName)
+                .collect(Collectors.toSet());
+        Set<String> result = new HashSet<>();
+        for (ServerMethodDefinition<?, ?> method : definition.getMethods()) {
+            String fullName = method.getMethodDescriptor().getFullMethodName();
+            String bareName = fullName.substring(fullName.lastIndexOf('/') + 1);
+            if (javaMethods.contains(ALL_METHODS) || normalized.contains(normalizeMethodName(bareName))) {
+                result.add(fullName);
             }
-        });
+        }
+        return result;
+    }
 
-        shutdown.addLastShutdownTask(() -> {
-                    if (server != null) {
-                        LOGGER.info("Stopping GRPC server");
-                        CountDownLatch latch = new CountDownLatch(1);
-                        server.shutdown(ar -> {
-                            if (ar.failed()) {
-                                LOGGER.errorf(ar.cause(), "Unable to stop the GRPC server gracefully");
-                            }
-                            latch.countDown();
-                        });
+    /**
+     * The generated Java methods use the lower camel case version of the gRPC method names.
+     */
+    private static String normalizeMethodName(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
 
-                        try {
-                            latch.await(10, TimeUnit.SECONDS);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            LOGGER.error("Unable to stop the GRPC server gracefully after 10 seconds");
-                        }
+    /**
+     * Configures the socket options of the accepted connections.
+     * The channel type (NIO or native) is inherited from the Vert.x instance.
+     */
+    private static void applyTransportOptions(GrpcTransportConfig transport, NettyServerBuilder builder) {
+        builder.withChildOption(ChannelOption.TCP_NODELAY, transport.tcpNoDelay);
+        builder.withChildOption(ChannelOption.SO_KEEPALIVE, transport.soKeepAlive);
+        transport.receiveBufferSize.ifPresent(size -> builder.withChildOption(ChannelOption.SO_RCVBUF, size));
+        transport.sendBufferSize.ifPresent(size -> builder.withChildOption(ChannelOption.SO_SNDBUF, size));
+    }
 
-                        server = null;
-                    }
-                }
-        );
+    private static void applyConnectionOptions(GrpcConnectionConfig connection, NettyServerBuilder builder) {
+        connection.keepAliveTime.ifPresent(d -> builder.keepAliveTime(d.toNanos(), TimeUnit.NANOSECONDS));
+        connection.keepAliveTimeout.ifPresent(d -> builder.keepAliveTimeout(d.toNanos(), TimeUnit.NANOSECONDS));
+        connection.permitKeepAliveTime.ifPresent(d -> builder.permitKeepAliveTime(d.toNanos(), TimeUnit.NANOSECONDS));
+        builder.permitKeepAliveWithoutCalls(connection.permitKeepAliveWithoutCalls);
+        connection.maxConnectionIdle.ifPresent(d -> builder.maxConnectionIdle(d.toNanos(), TimeUnit.NANOSECONDS));
+        connection.maxConnectionAge.ifPresent(d -> builder.maxConnectionAge(d.toNanos(), TimeUnit.NANOSECONDS));
+        connection.maxConnectionAgeGrace
+                .ifPresent(d -> builder.maxConnectionAgeGrace(d.toNanos(), TimeUnit.NANOSECONDS));
+        connection.maxConcurrentStreams.ifPresent(builder::maxConcurrentCallsPerConnection);
+    }
+
+    private static void applyFlowControlOptions(GrpcFlowControlConfig flowControl, NettyServerBuilder builder) {
+        if (flowControl.autoTuning) {
+            builder.initialFlowControlWindow(
+                    flowControl.window.orElse(NettyServerBuilder.DEFAULT_FLOW_CONTROL_WINDOW));
+        } else {
+            flowControl.window.ifPresent(builder::flowControlWindow);
+        }
+    }
+
+    private static boolean isCompressionEnabled(GrpcCompressionConfig config) {
+        if (config.algorithm.isPresent()) {
+            return true;
+        }
+        return config.overrides != null
+                && config.overrides.values().stream().anyMatch(override -> override.algorithm.isPresent());
+    }
+
+    /**
+     * @return the number of event loops used by the Vert.x instance, used as default number of server instances
+     */
+    private int getEventLoopCount() {
+        int count = 0;
+        for (EventExecutor ignored : ((VertxInternal) vertx).getEventLoopGroup()) {
+            count++;
+        }
+        return Math.max(count, 1);
     }
 
     public List<BindableService> getServices() {
@@ -133,8 +414,70 @@ public class GrpcServerBean {
         }
     }
 
+    /**
+     * @return one of the running server instances, {@code null} if the server is not started
+     */
     public VertxServer getGrpcServer() {
-        return server;
+        return servers.isEmpty() ? null : servers.get(0);
+    }
+
+    /**
+     * @return the interceptor tracking the calls in flight
+     */
+    public InFlightCallsInterceptor getInFlightCalls() {
+        return inFlightCalls;
+    }
+
+    /**
+     * @return the interceptor recording the per-method metrics, {@code null} if the metrics are disabled
+     */
+    public ServerMetricsInterceptor getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return the server metrics, using the Prometheus text format
+     */
+    public String scrapeMetrics() {
+        StringBuilder out = new StringBuilder();
+        ServerMetricsInterceptor interceptor = metrics;
+        if (interceptor != null) {
+            interceptor.writeTo(out);
+        }
+        PrometheusWriter.header(out, "grpc_server_in_flight_calls", "gauge", "Number of calls in flight.");
+        PrometheusWriter.sample(out, "grpc_server_in_flight_calls", "grpc_type=\"unary\"",
+                inFlightCalls.getInFlightUnaryCalls());
+        PrometheusWriter.sample(out, "grpc_server_in_flight_calls", "grpc_type=\"streaming\"",
+                inFlightCalls.getInFlightStreamingCalls());
+        ConnectionLimitInterceptor limits = connectionLimits;
+        if (limits != null) {
+            PrometheusWriter.header(out, "grpc_server_connections", "gauge", "Number of connections served.");
+            PrometheusWriter.sample(out, "grpc_server_connections", null, limits.getConnections());
+        }
+        ConcurrencyLimitInterceptor concurrency = concurrencyLimits;
+        if (concurrency != null) {
+            concurrency.writeTo(out);
+        }
+        EventLoopLagMonitor monitor = lagMonitor;
+        if (monitor != null) {
+            PrometheusWriter.header(out, "grpc_server_event_loop_lag_seconds", "gauge",
+                    "Max lag of the event loops.");
+            PrometheusWriter.sample(out, "grpc_server_event_loop_lag_seconds", null,
+                    monitor.getMaxLag() / 1_000_000_000.0);
+        }
+        RejectionMetrics.writeTo(out);
+        ResponseCaches.writeTo(out);
+        RequestCoalescing.writeTo(out);
+        CancellationMetrics.writeTo(out);
+        StreamingMetrics.writeTo(out);
+        return out.toString();
+    }
+
+    /**
+     * @return all the running server instances, one per deployed verticle
+     */
+    public List<VertxServer> getGrpcServers() {
+        return Collections.unmodifiableList(servers);
     }
 
     private List<ServerInterceptor> getSortedInterceptors() {
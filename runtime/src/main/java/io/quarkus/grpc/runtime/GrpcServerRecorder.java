@@ -5,11 +5,17 @@ import io.quarkus.grpc.runtime.config.GrpcServerConfiguration;
 import io.quarkus.runtime.ShutdownContext;
 import io.quarkus.runtime.annotations.Recorder;
 
+import java.util.List;
+import java.util.Map;
+
 @Recorder
 public class GrpcServerRecorder {
 
-    public void initializeGrpcServer(GrpcServerConfiguration configuration, ShutdownContext shutdown) {
-        Arc.container().instance(GrpcServerBean.class).get().init(configuration, shutdown);
+    public void initializeGrpcServer(GrpcServerConfiguration configuration, ShutdownContext shutdown,
+            Map<String, List<String>> blockingMethodsPerClass, Map<String, List<String>> cachedMethodsPerClass,
+            Map<String, List<String>> coalescedMethodsPerClass) {
+        Arc.container().instance(GrpcServerBean.class).get().init(configuration, shutdown, blockingMethodsPerClass,
+                cachedMethodsPerClass, coalescedMethodsPerClass);
     }
 
 }
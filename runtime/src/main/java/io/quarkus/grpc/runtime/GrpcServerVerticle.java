@@ -0,0 +1,59 @@
+package io.quarkus.grpc.runtime;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Promise;
+import io.vertx.grpc.VertxServer;
+import io.vertx.grpc.VertxServerBuilder;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Verticle running one instance of the gRPC server.
+ * Several instances can be deployed, they share the same port and each of them is bound to its own event loop.
+ */
+public class GrpcServerVerticle extends AbstractVerticle {
+
+    private final Supplier<VertxServerBuilder> builder;
+    private final Consumer<VertxServer> onStart;
+    private volatile VertxServer server;
+
+    public GrpcServerVerticle(Supplier<VertxServerBuilder> builder, Consumer<VertxServer> onStart) {
+        this.builder = builder;
+        this.onStart = onStart;
+    }
+
+    @Override
+    public void start(Promise<Void> startPromise) {
+        VertxServer instance = builder.get().build();
+        server = instance;
+        instance.start(ar -> {
+            if (ar.succeeded()) {
+                onStart.accept(instance);
+                startPromise.complete();
+            } else {
+                startPromise.fail(ar.cause());
+            }
+        });
+    }
+
+    @Override
+    public void stop(Promise<Void> stopPromise) {
+        if (server == null) {
+            stopPromise.complete();
+            return;
+        }
+        server.shutdown(ar -> {
+            server = null;
+            if (ar.succeeded()) {
+                stopPromise.complete();
+            } else {
+                stopPromise.fail(ar.cause());
+            }
+        });
+    }
+
+    public VertxServer getServer() {
+        return server;
+    }
+}
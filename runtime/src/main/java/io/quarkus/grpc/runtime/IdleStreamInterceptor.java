@@ -0,0 +1,143 @@
+package io.quarkus.grpc.runtime;
+
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * gRPC Server interceptor closing the streaming calls without message activity.
+ * <p>
+ * The calls are checked by {@link #reapIdleStreams()}, which is invoked periodically.
+ */
+public class IdleStreamInterceptor implements ServerInterceptor {
+
+    private final long timeout;
+    private final Set<IdleAwareCall<?, ?>> calls = ConcurrentHashMap.newKeySet();
+
+    public IdleStreamInterceptor(Duration timeout) {
+        this.timeout = timeout.toNanos();
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+        if (call.getMethodDescriptor().getType() == MethodDescriptor.MethodType.UNARY) {
+            return next.startCall(call, headers);
+        }
+
+        IdleAwareCall<ReqT, RespT> idleAwareCall = new IdleAwareCall<>(call);
+        calls.add(idleAwareCall);
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(idleAwareCall, headers);
+        } catch (RuntimeException e) {
+            calls.remove(idleAwareCall);
+            throw e;
+        }
+
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<ReqT>(listener) {
+            @Override
+            public void onMessage(ReqT message) {
+                idleAwareCall.touch();
+                super.onMessage(message);
+            }
+
+            @Override
+            public void onHalfClose() {
+                idleAwareCall.touch();
+                super.onHalfClose();
+            }
+
+            @Override
+            public void onComplete() {
+                calls.remove(idleAwareCall);
+                super.onComplete();
+            }
+
+            @Override
+            public void onCancel() {
+                calls.remove(idleAwareCall);
+                super.onCancel();
+            }
+        };
+    }
+
+    /**
+     * Closes the streaming calls idle for longer than the timeout.
+     *
+     * @return the number of closed calls
+     */
+    public int reapIdleStreams() {
+        long now = System.nanoTime();
+        int reaped = 0;
+        for (IdleAwareCall<?, ?> call : calls) {
+            if (now - call.lastActivity > timeout && call.reap()) {
+                reaped++;
+            }
+            if (call.closed) {
+                calls.remove(call);
+            }
+        }
+        return reaped;
+    }
+
+    /**
+     * @return the number of streaming calls tracked
+     */
+    public int getStreamCount() {
+        return calls.size();
+    }
+
+    /**
+     * Call recording its last activity. The application and {@link #reap()} may both close the call, so the
+     * outbound operations are serialized, and ignored once the call is closed.
+     */
+    private static class IdleAwareCall<ReqT, RespT> extends ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT> {
+
+        private volatile long lastActivity = System.nanoTime();
+        private volatile boolean closed;
+
+        IdleAwareCall(ServerCall<ReqT, RespT> delegate) {
+            super(delegate);
+        }
+
+        void touch() {
+            lastActivity = System.nanoTime();
+        }
+
+        @Override
+        public synchronized void sendMessage(RespT message) {
+            if (!closed) {
+                touch();
+                super.sendMessage(message);
+            }
+        }
+
+        @Override
+        public synchronized void close(Status status, Metadata trailers) {
+            if (!closed) {
+                closed = true;
+                super.close(status, trailers);
+            }
+        }
+
+        synchronized boolean reap() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            super.close(Status.DEADLINE_EXCEEDED.withDescription("The stream has been idle for too long"),
+                    new Metadata());
+            return true;
+        }
+    }
+}
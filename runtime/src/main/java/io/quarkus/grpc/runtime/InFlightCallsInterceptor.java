@@ -0,0 +1,128 @@
+package io.quarkus.grpc.runtime;
+
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.quarkus.grpc.runtime.metrics.RejectionMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * gRPC Server interceptor tracking the calls in flight, used to drain the server on shutdown.
+ * <p>
+ * Once {@link #startDraining()} has been called, new calls are rejected with {@code UNAVAILABLE}, so clients retry on
+ * another instance, while the calls in flight continue until completion.
+ */
+public class InFlightCallsInterceptor implements ServerInterceptor {
+
+    public static final String SHUTDOWN = "shutdown";
+
+    private static final long POLL_INTERVAL_MS = 50;
+
+    private final AtomicInteger unaryCalls = new AtomicInteger();
+    private final AtomicInteger streamingCalls = new AtomicInteger();
+    private volatile boolean draining;
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+        if (draining) {
+            RejectionMetrics.record(SHUTDOWN);
+            call.close(Status.UNAVAILABLE.withDescription("The server is shutting down"), new Metadata());
+            return new ServerCall.Listener<ReqT>() {
+            };
+        }
+
+        AtomicInteger counter = call.getMethodDescriptor().getType() == MethodDescriptor.MethodType.UNARY
+                ? unaryCalls
+                : streamingCalls;
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                counter.decrementAndGet();
+            }
+        };
+
+        counter.incrementAndGet();
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(call, headers);
+        } catch (RuntimeException e) {
+            release.run();
+            throw e;
+        }
+
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<ReqT>(listener) {
+            @Override
+            public void onComplete() {
+                try {
+                    super.onComplete();
+                } finally {
+                    release.run();
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                try {
+                    super.onCancel();
+                } finally {
+                    release.run();
+                }
+            }
+        };
+    }
+
+    /**
+     * Rejects the new calls from now on.
+     */
+    public void startDraining() {
+        draining = true;
+    }
+
+    /**
+     * Waits until all the calls in flight complete.
+     *
+     * @param timeout the max duration to wait
+     * @return {@code true} if all the calls completed, {@code false} if the timeout has been reached
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public boolean awaitDrained(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (getInFlightCalls() > 0) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(POLL_INTERVAL_MS);
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of unary calls in flight
+     */
+    public int getInFlightUnaryCalls() {
+        return unaryCalls.get();
+    }
+
+    /**
+     * @return the number of client-streaming, server-streaming and bidi calls in flight
+     */
+    public int getInFlightStreamingCalls() {
+        return streamingCalls.get();
+    }
+
+    /**
+     * @return the number of calls in flight
+     */
+    public int getInFlightCalls() {
+        return unaryCalls.get() + streamingCalls.get();
+    }
+}
@@ -1,30 +1,73 @@
 package io.quarkus.grpc.runtime;
 
+import com.google.protobuf.ByteString;
 import io.grpc.Status;
 import io.grpc.StatusException;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.CallStreamObserver;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import io.quarkus.grpc.runtime.cache.RequestCoalescer;
+import io.quarkus.grpc.runtime.cache.ResponseCache;
+import io.quarkus.grpc.runtime.config.GrpcStreamingConfig;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.operators.multi.processors.UnicastProcessor;
 
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 public class ServerCalls {
 
+    private static volatile int prefetch = 16;
+    private static volatile int inboundBufferSize = 16;
+
     private ServerCalls() {
     }
 
+    static void configure(GrpcStreamingConfig config) {
+        prefetch = config.prefetch;
+        inboundBufferSize = config.inboundBufferSize;
+    }
+
+    /**
+     * Invokes a unary service method. When the responses of the method are cached, the cached response of the request
+     * is sent without invoking the method, and the responses produced by the method are cached. When the calls of the
+     * method are coalesced, a call whose request is identical to the request of a call in flight receives the result
+     * of that call instead of invoking the method.
+     */
     public static <I, O> void oneToOne(I request, StreamObserver<O> response, Function<I, Uni<O>> implementation) {
         try {
-            Uni<O> uni = implementation.apply(request);
-            uni.subscribe().with(
-                    item -> {
-                        response.onNext(item);
-                        response.onCompleted();
-                    },
-                    failure -> response.onError(toStatusFailure(failure))
-            );
+            CallCancellation cancellation = CallCancellation.register(response);
+            ResponseCache cache = ResponseCache.current();
+            RequestCoalescer coalescer = RequestCoalescer.current();
+            ByteString key = null;
+            if (cache != null) {
+                key = cache.keyOf(request);
+                O cached = cache.get(key);
+                if (cached != null) {
+                    response.onNext(cached);
+                    response.onCompleted();
+                    return;
+                }
+            } else if (coalescer != null) {
+                key = coalescer.keyOf(request);
+            }
+
+            ByteString requestKey = key;
+            Consumer<O> onItem = item -> {
+                if (cache != null && item != null) {
+                    cache.put(requestKey, item);
+                }
+                response.onNext(item);
+                response.onCompleted();
+            };
+            Consumer<Throwable> onFailure = failure -> response.onError(toStatusFailure(failure));
+            if (coalescer != null) {
+                cancellation.attach(coalescer.execute(key, () -> implementation.apply(request), onItem, onFailure));
+            } else {
+                cancellation.attach(implementation.apply(request).subscribe().with(onItem, onFailure));
+            }
         } catch (Throwable throwable) {
             response.onError(toStatusFailure(throwable));
         }
@@ -32,12 +75,9 @@ public class ServerCalls {
 
     public static <I, O> void oneToMany(I request, StreamObserver<O> response, Function<I, Multi<O>> implementation) {
         try {
-            implementation.apply(request)
-                    .subscribe().with(
-                    response::onNext,
-                    response::onError,
-                    response::onCompleted
-            );
+            CallCancellation cancellation = CallCancellation.register(response);
+            Multi<O> multi = implementation.apply(request);
+            subscribe(multi, response, cancellation);
         } catch (Throwable throwable) {
             response.onError(toStatusFailure(throwable));
         }
@@ -46,17 +86,17 @@ public class ServerCalls {
     public static <I, O> StreamObserver<I> manyToOne(StreamObserver<O> response,
             Function<Multi<I>, Uni<O>> implementation) {
         try {
-            UnicastProcessor<I> input = UnicastProcessor.create();
-            StreamObserver<I> pump = getStreamObserverFeedingProcessor(input);
-            Uni<O> uni = implementation.apply(input);
-            uni.subscribe().with(
+            CallCancellation cancellation = CallCancellation.register(response);
+            InboundStream<I> input = createInboundStream(response);
+            Uni<O> uni = implementation.apply(input.multi);
+            cancellation.attach(uni.subscribe().with(
                     item -> {
                         response.onNext(item);
                         response.onCompleted();
                     },
                     failure -> response.onError(toStatusFailure(failure))
-            );
-            return pump;
+            ));
+            return input.pump;
         } catch (Throwable throwable) {
             response.onError(toStatusFailure(throwable));
             return null;
@@ -66,18 +106,60 @@ public class ServerCalls {
     public static <I, O> StreamObserver<I> manyToMany(StreamObserver<O> response,
             Function<Multi<I>, Multi<O>> implementation) {
         try {
-            UnicastProcessor<I> input = UnicastProcessor.create();
-            StreamObserver<I> pump = getStreamObserverFeedingProcessor(input);
-            Multi<O> uni = implementation.apply(input);
-            uni.subscribe().with(
+            CallCancellation cancellation = CallCancellation.register(response);
+            InboundStream<I> input = createInboundStream(response);
+            Multi<O> multi = implementation.apply(input.multi);
+            subscribe(multi, response, cancellation);
+            return input.pump;
+        } catch (Throwable throwable) {
+            response.onError(toStatusFailure(throwable));
+            return null;
+        }
+    }
+
+    /**
+     * Subscribes to the stream produced by a service method and forwards the items to the response observer.
+     * When the observer exposes the transport readiness, items are requested from the stream only when the transport
+     * is ready to send them, and the subscription is cancelled when the call is cancelled.
+     */
+    private static <O> void subscribe(Multi<O> multi, StreamObserver<O> response, CallCancellation cancellation) {
+        if (response instanceof ServerCallStreamObserver) {
+            BackPressuredResponseSubscriber<O> subscriber = new BackPressuredResponseSubscriber<>(
+                    (ServerCallStreamObserver<O>) response, prefetch);
+            cancellation.attach(subscriber);
+            multi.subscribe(subscriber);
+        } else {
+            multi.subscribe().with(
                     response::onNext,
                     failure -> response.onError(toStatusFailure(failure)),
                     response::onCompleted
             );
-            return pump;
-        } catch (Throwable throwable) {
-            response.onError(toStatusFailure(throwable));
-            return null;
+        }
+    }
+
+    /**
+     * Creates the stream of messages sent by the client.
+     * When the response observer controls the transport, messages are requested from the client only when the
+     * service consumes them, and at most {@code inboundBufferSize} messages are buffered.
+     */
+    private static <I> InboundStream<I> createInboundStream(StreamObserver<?> response) {
+        if (response instanceof ServerCallStreamObserver) {
+            FlowControlledInboundStream<I> stream = new FlowControlledInboundStream<>((CallStreamObserver<?>) response,
+                    inboundBufferSize);
+            return new InboundStream<>(Multi.createFrom().publisher(stream), stream);
+        } else {
+            UnicastProcessor<I> processor = UnicastProcessor.create();
+            return new InboundStream<>(processor, getStreamObserverFeedingProcessor(processor));
+        }
+    }
+
+    private static class InboundStream<I> {
+        final Multi<I> multi;
+        final StreamObserver<I> pump;
+
+        InboundStream(Multi<I> multi, StreamObserver<I> pump) {
+            this.multi = multi;
+            this.pump = pump;
         }
     }
 
@@ -100,7 +182,7 @@ public class ServerCalls {
         };
     }
 
-    private static Throwable toStatusFailure(Throwable throwable) {
+    static Throwable toStatusFailure(Throwable throwable) {
         if (throwable instanceof StatusException || throwable instanceof StatusRuntimeException) {
             return throwable;
         } else {
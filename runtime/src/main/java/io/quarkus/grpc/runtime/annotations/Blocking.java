@@ -0,0 +1,18 @@
+package io.quarkus.grpc.runtime.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+
+/**
+ * Marks a gRPC service method, or all the methods of a gRPC service class, as blocking.
+ * Blocking methods are invoked on a worker thread instead of the event loop.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ TYPE, METHOD })
+public @interface Blocking {
+
+}
@@ -0,0 +1,18 @@
+package io.quarkus.grpc.runtime.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+
+/**
+ * Marks an idempotent unary gRPC service method whose responses are cached.
+ * The responses are cached per serialized request, and the calls served from the cache do not invoke the method.
+ * The cache is configured with the {@code quarkus.grpc-server.response-cache} properties.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(METHOD)
+public @interface CacheResponse {
+
+}
@@ -0,0 +1,17 @@
+package io.quarkus.grpc.runtime.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+
+/**
+ * Marks an idempotent unary gRPC service method whose concurrent calls with byte-identical requests are coalesced:
+ * the method is invoked once, and all the calls receive its result.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(METHOD)
+public @interface CoalesceRequests {
+
+}
@@ -0,0 +1,49 @@
+package io.quarkus.grpc.runtime.batching;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.MethodDescriptor;
+import io.quarkus.grpc.runtime.cache.CachingChannel;
+
+/**
+ * Channel whose unary calls, issued with the Mutiny stubs, are started in batches by a {@link CallBatcher}. The calls
+ * are not intercepted: the batcher is used by {@link io.quarkus.grpc.runtime.ClientCalls}.
+ */
+public final class BatchingChannel extends Channel {
+
+    private final Channel delegate;
+    private final CallBatcher batcher;
+
+    public BatchingChannel(Channel delegate, CallBatcher batcher) {
+        this.delegate = delegate;
+        this.batcher = batcher;
+    }
+
+    /**
+     * @param channel the channel used by a stub
+     * @return the batcher of the channel, {@code null} if the calls are not batched
+     */
+    public static CallBatcher getBatcher(Channel channel) {
+        Channel current = channel;
+        if (current instanceof CachingChannel) {
+            current = ((CachingChannel) current).getDelegate();
+        }
+        return current instanceof BatchingChannel ? ((BatchingChannel) current).batcher : null;
+    }
+
+    public Channel getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(MethodDescriptor<ReqT, RespT> method,
+            CallOptions callOptions) {
+        return delegate.newCall(method, callOptions);
+    }
+
+    @Override
+    public String authority() {
+        return delegate.authority();
+    }
+}
@@ -0,0 +1,122 @@
+package io.quarkus.grpc.runtime.batching;
+
+import io.grpc.Context;
+import io.vertx.core.Vertx;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delays the start of the unary calls of a client for a short window, and then starts the pending calls one after the
+ * other. This is only a start delay: the calls of a batch are not written to the connection at once. The transport
+ * already merges the flushes of the calls started during the same event loop iteration, and the calls of a batch
+ * issued from different Vert.x contexts are started by separate tasks on these contexts.
+ * <p>
+ * A batch is started when the window elapses or when it reaches the max batch size, whichever comes first, so each
+ * call pays up to the window in added latency. Each call is started with the gRPC context of its caller, so it keeps
+ * its deadline and cancellation, and on the Vert.x context of its caller, if any.
+ */
+public final class CallBatcher {
+
+    private final String client;
+    private final Vertx vertx;
+    private final long window;
+    private final int maxBatchSize;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder calls = new LongAdder();
+
+    private List<Runnable> pending = new ArrayList<>();
+    private long timerId = -1;
+
+    CallBatcher(String client, Vertx vertx, Duration window, int maxBatchSize) {
+        this.client = client;
+        this.vertx = vertx;
+        this.window = Math.max(window.toMillis(), 1);
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+    }
+
+    public String getClient() {
+        return client;
+    }
+
+    /**
+     * Adds a call to the current batch.
+     *
+     * @param start starts the call, must not throw
+     */
+    public void submit(Runnable start) {
+        Runnable call = onCallerContext(Context.current().wrap(start));
+        List<Runnable> batch = null;
+        long timer = -1;
+        synchronized (this) {
+            pending.add(call);
+            if (pending.size() >= maxBatchSize) {
+                batch = pending;
+                pending = new ArrayList<>();
+                timer = timerId;
+                timerId = -1;
+            } else if (timerId == -1) {
+                timerId = vertx.setTimer(window, id -> flush(id));
+            }
+        }
+        if (batch != null) {
+            if (timer != -1) {
+                vertx.cancelTimer(timer);
+            }
+            start(batch);
+        }
+    }
+
+    /**
+     * @return the number of started batches
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * @return the number of calls started in batches
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    private static Runnable onCallerContext(Runnable start) {
+        io.vertx.core.Context context = Vertx.currentContext();
+        if (context == null) {
+            return start;
+        }
+        return () -> {
+            if (Vertx.currentContext() == context) {
+                start.run();
+            } else {
+                context.runOnContext(ignored -> start.run());
+            }
+        };
+    }
+
+    private void flush(long id) {
+        List<Runnable> batch;
+        synchronized (this) {
+            if (timerId != id) {
+                // The batch has already been started because it was full.
+                return;
+            }
+            batch = pending;
+            pending = new ArrayList<>();
+            timerId = -1;
+        }
+        start(batch);
+    }
+
+    private void start(List<Runnable> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        batches.increment();
+        calls.add(batch.size());
+        batch.forEach(Runnable::run);
+    }
+}
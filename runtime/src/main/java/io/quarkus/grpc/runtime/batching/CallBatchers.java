@@ -0,0 +1,69 @@
+package io.quarkus.grpc.runtime.batching;
+
+import io.quarkus.grpc.runtime.metrics.PrometheusWriter;
+import io.vertx.core.Vertx;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the call batchers of the gRPC clients, per client name.
+ */
+public final class CallBatchers {
+
+    private static final ConcurrentMap<String, CallBatcher> BATCHERS = new ConcurrentHashMap<>();
+
+    private CallBatchers() {
+        // Avoid direct instantiation
+    }
+
+    /**
+     * Creates the batcher of a client.
+     *
+     * @param client the name of the client, as used in {@code @GrpcService}
+     * @param vertx the Vert.x instance, whose timers close the batches
+     * @param window the max duration during which a call waits for other calls
+     * @param maxBatchSize the max number of calls per batch
+     * @return the batcher
+     * @throws IllegalStateException if the client already has a batcher
+     */
+    public static CallBatcher create(String client, Vertx vertx, Duration window, int maxBatchSize) {
+        CallBatcher batcher = new CallBatcher(client, vertx, window, maxBatchSize);
+        if (BATCHERS.putIfAbsent(client, batcher) != null) {
+            throw new IllegalStateException("The calls of the gRPC client " + client + " are already batched");
+        }
+        return batcher;
+    }
+
+    /**
+     * Removes the batcher of a client, once its channel is closed.
+     *
+     * @param batcher the batcher
+     */
+    public static void remove(CallBatcher batcher) {
+        BATCHERS.remove(batcher.getClient(), batcher);
+    }
+
+    /**
+     * Writes the batching metrics using the Prometheus text format.
+     *
+     * @param out the output
+     */
+    public static void writeTo(StringBuilder out) {
+        if (BATCHERS.isEmpty()) {
+            return;
+        }
+        Map<String, CallBatcher> sorted = new TreeMap<>(BATCHERS);
+        PrometheusWriter.header(out, "grpc_client_call_batches_total", "counter",
+                "Total number of batches of delayed unary calls started.");
+        sorted.forEach((client, batcher) -> PrometheusWriter.sample(out, "grpc_client_call_batches_total",
+                "client=\"" + PrometheusWriter.escape(client) + "\"", batcher.getBatches()));
+        PrometheusWriter.header(out, "grpc_client_batched_calls_total", "counter",
+                "Total number of unary calls started in batches.");
+        sorted.forEach((client, batcher) -> PrometheusWriter.sample(out, "grpc_client_batched_calls_total",
+                "client=\"" + PrometheusWriter.escape(client) + "\"", batcher.getCalls()));
+    }
+}
@@ -0,0 +1,91 @@
+package io.quarkus.grpc.runtime.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Records the accesses to the entries of a cache without locking, so the lookups do not contend on the lock of the
+ * cache. The accesses are replayed later, under the lock, to update the eviction order and the frequency sketch.
+ * <p>
+ * The buffer is striped by thread, each stripe being a bounded ring. It is lossy: an access is dropped when its stripe
+ * is full or when another thread records an access in the same slot at the same time. This is acceptable as the
+ * accesses only drive the eviction policy.
+ *
+ * @param <E> the type of the recorded accesses
+ */
+final class AccessBuffer<E> {
+
+    static final int STRIPE_SIZE = 64;
+    private static final int STRIPE_MASK = STRIPE_SIZE - 1;
+
+    private final Stripe<E>[] stripes;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    AccessBuffer() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int count = processors <= 1 ? 1 : Integer.highestOneBit(processors - 1) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>();
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * Records an access.
+     *
+     * @param access the access
+     * @return {@code false} if the stripe of the current thread is full: the access is not recorded, and the buffer
+     *         should be drained
+     */
+    boolean offer(E access) {
+        return stripes[(int) Thread.currentThread().getId() & mask].offer(access);
+    }
+
+    /**
+     * Replays the recorded accesses. Must be invoked while holding the lock of the cache.
+     *
+     * @param consumer receives the accesses
+     */
+    void drainTo(Consumer<? super E> consumer) {
+        for (Stripe<E> stripe : stripes) {
+            stripe.drainTo(consumer);
+        }
+    }
+
+    private static final class Stripe<E> {
+        final AtomicReferenceArray<E> slots = new AtomicReferenceArray<>(STRIPE_SIZE);
+        final AtomicLong writes = new AtomicLong();
+        // Only written by the thread draining the stripe.
+        volatile long reads;
+
+        boolean offer(E access) {
+            long tail = writes.get();
+            if (tail - reads >= STRIPE_SIZE) {
+                return false;
+            }
+            if (writes.compareAndSet(tail, tail + 1)) {
+                slots.lazySet((int) tail & STRIPE_MASK, access);
+            }
+            return true;
+        }
+
+        void drainTo(Consumer<? super E> consumer) {
+            long head = reads;
+            long tail = writes.get();
+            for (; head < tail; head++) {
+                int index = (int) head & STRIPE_MASK;
+                E access = slots.get(index);
+                if (access == null) {
+                    // Claimed but not published yet, replayed by the next drain.
+                    break;
+                }
+                slots.lazySet(index, null);
+                consumer.accept(access);
+            }
+            reads = head;
+        }
+    }
+}
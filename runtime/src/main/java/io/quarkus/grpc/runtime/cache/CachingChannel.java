@@ -0,0 +1,61 @@
+package io.quarkus.grpc.runtime.cache;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.MethodDescriptor;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Channel holding the client response caches of its unary methods. The calls are not intercepted: the caches are
+ * used by {@link io.quarkus.grpc.runtime.ClientCalls}, so the cached responses never reach the channel.
+ */
+public final class CachingChannel extends Channel {
+
+    private final Channel delegate;
+    private final Function<MethodDescriptor<?, ?>, ClientResponseCache> factory;
+    private final ConcurrentMap<String, Optional<ClientResponseCache>> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate the channel
+     * @param factory creates the cache of a method, returns {@code null} if the responses of the method are not
+     *        cached
+     */
+    public CachingChannel(Channel delegate, Function<MethodDescriptor<?, ?>, ClientResponseCache> factory) {
+        this.delegate = delegate;
+        this.factory = factory;
+    }
+
+    /**
+     * @param channel the channel used by a stub
+     * @param method the method
+     * @return the cache of the method, {@code null} if the channel does not cache the responses of the method
+     */
+    public static ClientResponseCache getCache(Channel channel, MethodDescriptor<?, ?> method) {
+        if (!(channel instanceof CachingChannel) || method.getType() != MethodDescriptor.MethodType.UNARY) {
+            return null;
+        }
+        CachingChannel caching = (CachingChannel) channel;
+        return caching.caches.computeIfAbsent(method.getFullMethodName(),
+                name -> Optional.ofNullable(caching.factory.apply(method))).orElse(null);
+    }
+
+    public Channel getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(MethodDescriptor<ReqT, RespT> method,
+            CallOptions callOptions) {
+        return delegate.newCall(method, callOptions);
+    }
+
+    @Override
+    public String authority() {
+        return delegate.authority();
+    }
+}
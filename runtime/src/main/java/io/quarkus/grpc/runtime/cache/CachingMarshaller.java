@@ -0,0 +1,55 @@
+package io.quarkus.grpc.runtime.cache;
+
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Response marshaller sending the serialized form of the cached responses instead of serializing them again.
+ *
+ * @param <T> the response type
+ */
+final class CachingMarshaller<T> implements MethodDescriptor.Marshaller<T> {
+
+    private final MethodDescriptor.Marshaller<T> delegate;
+    private final ResponseCache cache;
+
+    CachingMarshaller(MethodDescriptor.Marshaller<T> delegate, ResponseCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public InputStream stream(T value) {
+        byte[] serialized = cache.getSerializedForm(value);
+        return serialized == null ? delegate.stream(value) : new SerializedMessage(serialized);
+    }
+
+    @Override
+    public T parse(InputStream stream) {
+        return delegate.parse(stream);
+    }
+
+    /**
+     * Lets the transport copy the bytes directly into its buffers.
+     */
+    static final class SerializedMessage extends ByteArrayInputStream implements KnownLength, Drainable {
+
+        SerializedMessage(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public int drainTo(OutputStream target) throws IOException {
+            int length = count - pos;
+            target.write(buf, pos, length);
+            pos = count;
+            return length;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package io.quarkus.grpc.runtime.cache;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import io.grpc.MethodDescriptor;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of the responses received by a client for a unary method, keyed by the serialized request.
+ * <p>
+ * A response is fresh during the TTL, and then stale during the stale-while-revalidate period: a stale response is
+ * still returned, while a single call refreshes it in the background. Responses older than that are not returned.
+ * When the cache is full, the least recently used entry is only evicted if the request of the new entry has been
+ * more frequent recently (TinyLFU admission).
+ * <p>
+ * As for {@link ResponseCache}, the lookups do not lock the cache: the accesses are recorded in an {@link AccessBuffer}
+ * and replayed by the next update of the cache.
+ */
+public final class ClientResponseCache {
+
+    private final String client;
+    private final String fullMethodName;
+    private final MethodDescriptor.Marshaller<Object> requestMarshaller;
+    private final long ttl;
+    private final long staleWhileRevalidate;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    private final ConcurrentMap<ByteString, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by the lock.
+    private final LinkedHashMap<ByteString, Entry> order = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+    private final AccessBuffer<ByteString> accesses = new AccessBuffer<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    ClientResponseCache(String client, String fullMethodName, MethodDescriptor.Marshaller<?> requestMarshaller,
+            Duration ttl, Duration staleWhileRevalidate, int maxEntries, LongSupplier clock) {
+        this.client = client;
+        this.fullMethodName = fullMethodName;
+        this.requestMarshaller = (MethodDescriptor.Marshaller<Object>) requestMarshaller;
+        this.ttl = ttl.toNanos();
+        this.staleWhileRevalidate = staleWhileRevalidate.toNanos();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.sketch = new FrequencySketch(maxEntries);
+    }
+
+    public String getClient() {
+        return client;
+    }
+
+    public String getFullMethodName() {
+        return fullMethodName;
+    }
+
+    /**
+     * @param request the request
+     * @return the cache key of the request, i.e. its serialized form
+     */
+    public ByteString keyOf(Object request) {
+        return UnsafeByteOperations.unsafeWrap(ResponseCache.serialize(requestMarshaller.stream(request)));
+    }
+
+    /**
+     * Looks up a cached response. When the response is stale and is not being refreshed yet, {@code revalidation} is
+     * invoked to refresh it, and the refresh must end with {@link #put} or {@link #revalidationFailed}.
+     *
+     * @param key the cache key of the request
+     * @param revalidation refreshes the response
+     * @param <O> the response type
+     * @return the fresh or stale response, {@code null} if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public <O> O get(ByteString key, Runnable revalidation) {
+        boolean revalidate = false;
+        long now = clock.getAsLong();
+        recordAccess(key);
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.staleAt >= 0) {
+            if (now - entry.expiresAt >= 0) {
+                lock.lock();
+                try {
+                    remove(entry);
+                } finally {
+                    lock.unlock();
+                }
+                entry = null;
+            } else {
+                revalidate = entry.revalidating.compareAndSet(false, true);
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (now - entry.staleAt >= 0) {
+            staleHits.increment();
+        } else {
+            hits.increment();
+        }
+        if (revalidate) {
+            revalidation.run();
+        }
+        return (O) entry.response;
+    }
+
+    /**
+     * Caches a response, or replaces the stale response of the request.
+     *
+     * @param key the cache key of the request
+     * @param response the response
+     * @return whether the response has been cached
+     */
+    public boolean put(ByteString key, Object response) {
+        long now = clock.getAsLong();
+        Entry entry = new Entry(key, response, now + ttl, now + ttl + staleWhileRevalidate);
+        lock.lock();
+        try {
+            drainAccesses();
+            Entry existing = order.get(key);
+            if (existing != null) {
+                remove(existing);
+            } else if (order.size() >= maxEntries && !evictFor(key, now)) {
+                return false;
+            }
+            order.put(key, entry);
+            entries.put(key, entry);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Keeps serving the stale response after a failed refresh, until the next stale hit retries.
+     *
+     * @param key the cache key of the request
+     */
+    public void revalidationFailed(ByteString key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.revalidating.set(false);
+        }
+    }
+
+    /**
+     * Removes the cached response of a request.
+     *
+     * @param request the request
+     * @return whether a response was cached
+     */
+    public boolean invalidate(Object request) {
+        ByteString key = keyOf(request);
+        lock.lock();
+        try {
+            Entry entry = order.get(key);
+            if (entry == null) {
+                return false;
+            }
+            remove(entry);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all the cached responses.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            order.clear();
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of calls served with a fresh response
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of calls served with a stale response
+     */
+    public long getStaleHits() {
+        return staleHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the ratio of calls served from the cache, fresh or stale
+     */
+    public double getHitRatio() {
+        long served = getHits() + getStaleHits();
+        long total = served + getMisses();
+        return total == 0 ? 0 : (double) served / total;
+    }
+
+    private boolean evictFor(ByteString key, long now) {
+        Entry victim = order.values().iterator().next();
+        if (now - victim.expiresAt < 0
+                && sketch.frequency(key.hashCode()) <= sketch.frequency(victim.key.hashCode())) {
+            return false;
+        }
+        remove(victim);
+        evictions.increment();
+        return true;
+    }
+
+    private void remove(Entry entry) {
+        if (order.remove(entry.key, entry)) {
+            entries.remove(entry.key, entry);
+        }
+    }
+
+    /**
+     * Records an access without locking. When the buffer is full, it is drained if the lock is free, and the access
+     * is dropped otherwise.
+     */
+    private void recordAccess(ByteString key) {
+        if (!accesses.offer(key) && lock.tryLock()) {
+            try {
+                drainAccesses();
+                onAccess(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void drainAccesses() {
+        accesses.drainTo(this::onAccess);
+    }
+
+    private void onAccess(ByteString key) {
+        sketch.increment(key.hashCode());
+        // Moves the entry, if any, to the end of the access order.
+        order.get(key);
+    }
+
+    private static final class Entry {
+        final ByteString key;
+        final Object response;
+        final long staleAt;
+        final long expiresAt;
+        final AtomicBoolean revalidating = new AtomicBoolean();
+
+        Entry(ByteString key, Object response, long staleAt, long expiresAt) {
+            this.key = key;
+            this.response = response;
+            this.staleAt = staleAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
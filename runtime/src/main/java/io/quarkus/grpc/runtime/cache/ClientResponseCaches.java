@@ -0,0 +1,109 @@
+package io.quarkus.grpc.runtime.cache;
+
+import io.grpc.MethodDescriptor;
+import io.quarkus.grpc.runtime.metrics.PrometheusWriter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Holds the response caches of the gRPC clients, per client name and method.
+ */
+public final class ClientResponseCaches {
+
+    private static final ConcurrentMap<String, ClientResponseCache> CACHES = new ConcurrentHashMap<>();
+
+    private ClientResponseCaches() {
+        // Avoid direct instantiation
+    }
+
+    /**
+     * Creates the cache of a method.
+     *
+     * @param client the name of the client, as used in {@code @GrpcService}
+     * @param method the method
+     * @param ttl the duration during which a response is fresh
+     * @param staleWhileRevalidate the duration during which a stale response is returned while it is refreshed
+     * @param maxEntries the max number of cached responses
+     * @return the cache
+     */
+    public static ClientResponseCache create(String client, MethodDescriptor<?, ?> method, Duration ttl,
+            Duration staleWhileRevalidate, int maxEntries) {
+        ClientResponseCache cache = new ClientResponseCache(client, method.getFullMethodName(),
+                method.getRequestMarshaller(), ttl, staleWhileRevalidate, Math.max(maxEntries, 1), System::nanoTime);
+        CACHES.put(client + " " + method.getFullMethodName(), cache);
+        return cache;
+    }
+
+    /**
+     * @param client the name of the client
+     * @param fullMethodName the full method name, such as {@code helloworld.Greeter/SayHello}
+     * @return the cache, {@code null} if the client does not cache the responses of the method or has not called it
+     *         yet
+     */
+    public static ClientResponseCache get(String client, String fullMethodName) {
+        return CACHES.get(client + " " + fullMethodName);
+    }
+
+    /**
+     * Removes the caches of a client, once its channel is closed.
+     *
+     * @param client the name of the client
+     */
+    public static void remove(String client) {
+        CACHES.values().removeIf(cache -> cache.getClient().equals(client));
+    }
+
+    /**
+     * Removes all the cached responses of all the clients.
+     */
+    public static void invalidateAll() {
+        CACHES.values().forEach(ClientResponseCache::invalidateAll);
+    }
+
+    /**
+     * Writes the cache metrics using the Prometheus text format.
+     *
+     * @param out the output
+     */
+    public static void writeTo(StringBuilder out) {
+        if (CACHES.isEmpty()) {
+            return;
+        }
+        Map<String, ClientResponseCache> sorted = new TreeMap<>(CACHES);
+        write(out, sorted, "grpc_client_response_cache_hits_total", "counter",
+                "Total number of calls served with a fresh cached response.", ClientResponseCache::getHits);
+        write(out, sorted, "grpc_client_response_cache_stale_hits_total", "counter",
+                "Total number of calls served with a stale cached response while it is refreshed.",
+                ClientResponseCache::getStaleHits);
+        write(out, sorted, "grpc_client_response_cache_misses_total", "counter",
+                "Total number of calls not found in the response cache.", ClientResponseCache::getMisses);
+        write(out, sorted, "grpc_client_response_cache_evictions_total", "counter",
+                "Total number of responses evicted from the response cache to make room for new ones.",
+                ClientResponseCache::getEvictions);
+        write(out, sorted, "grpc_client_response_cache_entries", "gauge",
+                "Number of responses in the response cache.", ClientResponseCache::size);
+        PrometheusWriter.header(out, "grpc_client_response_cache_hit_ratio", "gauge",
+                "Ratio of calls served from the response cache, fresh or stale.");
+        sorted.values().forEach(cache -> PrometheusWriter.sample(out, "grpc_client_response_cache_hit_ratio",
+                labels(cache), cache.getHitRatio()));
+    }
+
+    private static void write(StringBuilder out, Map<String, ClientResponseCache> caches, String name, String type,
+            String help, ToLongFunction<ClientResponseCache> value) {
+        PrometheusWriter.header(out, name, type, help);
+        caches.values().forEach(cache -> PrometheusWriter.sample(out, name, labels(cache), value.applyAsLong(cache)));
+    }
+
+    private static String labels(ClientResponseCache cache) {
+        String fullMethodName = cache.getFullMethodName();
+        int index = fullMethodName.lastIndexOf('/');
+        return "client=\"" + PrometheusWriter.escape(cache.getClient())
+                + "\",grpc_service=\"" + PrometheusWriter.escape(fullMethodName.substring(0, index))
+                + "\",grpc_method=\"" + PrometheusWriter.escape(fullMethodName.substring(index + 1)) + "\"";
+    }
+}
@@ -0,0 +1,207 @@
+package io.quarkus.grpc.runtime.cache;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import io.grpc.Context;
+import io.grpc.MethodDescriptor;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces the concurrent calls of a unary method with byte-identical requests: the first call executes the method,
+ * and the calls received while it is in flight wait for its result instead of executing the method again.
+ * <p>
+ * Each call leaves the shared execution independently when it is cancelled or its deadline expires. The execution is
+ * only cancelled when all the calls waiting for it have left. Once the execution completes, the next identical
+ * request executes the method again.
+ * <p>
+ * The method is executed in a fork of the gRPC context of the first call: it sees the values of that context, but
+ * not its deadline nor its cancellation, which only remove the first call from the execution.
+ */
+public final class RequestCoalescer {
+
+    static final Context.Key<RequestCoalescer> KEY = Context.key("quarkus-grpc-request-coalescer");
+
+    private final String fullMethodName;
+    private final MethodDescriptor.Marshaller<Object> requestMarshaller;
+    private final ConcurrentMap<ByteString, Execution<?>> executions = new ConcurrentHashMap<>();
+    private final LongAdder executedCalls = new LongAdder();
+    private final LongAdder coalescedCalls = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    RequestCoalescer(String fullMethodName, MethodDescriptor.Marshaller<?> requestMarshaller) {
+        this.fullMethodName = fullMethodName;
+        this.requestMarshaller = (MethodDescriptor.Marshaller<Object>) requestMarshaller;
+    }
+
+    /**
+     * @return the coalescer of the method of the current call, {@code null} if the calls of the method are not
+     *         coalesced
+     */
+    public static RequestCoalescer current() {
+        return KEY.get();
+    }
+
+    public String getFullMethodName() {
+        return fullMethodName;
+    }
+
+    /**
+     * @param request the request
+     * @return the key identifying the identical requests, i.e. the serialized form of the request
+     */
+    public ByteString keyOf(Object request) {
+        return UnsafeByteOperations.unsafeWrap(ResponseCache.serialize(requestMarshaller.stream(request)));
+    }
+
+    /**
+     * Joins the execution in flight for the given request, or starts a new one.
+     *
+     * @param key the key of the request
+     * @param method supplies the {@code Uni} executing the method, only invoked if a new execution is started
+     * @param onItem called with the result of the execution
+     * @param onFailure called with the failure of the execution
+     * @param <O> the response type
+     * @return the cancellable removing the caller from the execution
+     */
+    @SuppressWarnings("unchecked")
+    public <O> Cancellable execute(ByteString key, Supplier<Uni<O>> method, Consumer<O> onItem,
+            Consumer<Throwable> onFailure) {
+        Caller<O> caller = new Caller<>(onItem, onFailure);
+        while (true) {
+            Execution<O> existing = (Execution<O>) executions.get(key);
+            if (existing == null) {
+                Execution<O> execution = new Execution<>(key);
+                execution.join(caller);
+                if (executions.putIfAbsent(key, execution) == null) {
+                    executedCalls.increment();
+                    execution.start(method);
+                    return () -> execution.leave(caller);
+                }
+            } else if (existing.join(caller)) {
+                coalescedCalls.increment();
+                return () -> existing.leave(caller);
+            }
+            // The execution completed concurrently, retry.
+        }
+    }
+
+    /**
+     * @return the number of calls that executed the method
+     */
+    public long getExecutedCalls() {
+        return executedCalls.sum();
+    }
+
+    /**
+     * @return the number of calls that waited for the execution of another call
+     */
+    public long getCoalescedCalls() {
+        return coalescedCalls.sum();
+    }
+
+    /**
+     * @return the number of executions in flight
+     */
+    public int getExecutionsInFlight() {
+        return executions.size();
+    }
+
+    private static final class Caller<O> {
+        final Consumer<O> onItem;
+        final Consumer<Throwable> onFailure;
+
+        Caller(Consumer<O> onItem, Consumer<Throwable> onFailure) {
+            this.onItem = onItem;
+            this.onFailure = onFailure;
+        }
+    }
+
+    private final class Execution<O> {
+        private final ByteString key;
+        private final List<Caller<O>> callers = new ArrayList<>();
+        private boolean done;
+        private boolean abandoned;
+        private Cancellable subscription;
+
+        Execution(ByteString key) {
+            this.key = key;
+        }
+
+        synchronized boolean join(Caller<O> caller) {
+            if (done) {
+                return false;
+            }
+            callers.add(caller);
+            return true;
+        }
+
+        void start(Supplier<Uni<O>> method) {
+            Cancellable cancellable;
+            // The execution is shared, it must not be bound to the deadline and cancellation of the first caller.
+            Context forked = Context.current().fork();
+            Context previous = forked.attach();
+            try {
+                cancellable = method.get().subscribe().with(item -> complete(item, null),
+                        failure -> complete(null, failure));
+            } catch (Throwable throwable) {
+                complete(null, throwable);
+                return;
+            } finally {
+                forked.detach(previous);
+            }
+            boolean cancelled;
+            synchronized (this) {
+                subscription = cancellable;
+                cancelled = abandoned;
+            }
+            if (cancelled) {
+                cancellable.cancel();
+            }
+        }
+
+        void leave(Caller<O> caller) {
+            Cancellable toCancel;
+            synchronized (this) {
+                if (done || !callers.remove(caller) || !callers.isEmpty()) {
+                    return;
+                }
+                done = true;
+                abandoned = true;
+                toCancel = subscription;
+            }
+            executions.remove(key, this);
+            if (toCancel != null) {
+                toCancel.cancel();
+            }
+        }
+
+        private void complete(O item, Throwable failure) {
+            executions.remove(key, this);
+            List<Caller<O>> notified;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                notified = new ArrayList<>(callers);
+                callers.clear();
+            }
+            for (Caller<O> caller : notified) {
+                if (failure == null) {
+                    caller.onItem.accept(item);
+                } else {
+                    caller.onFailure.accept(failure);
+                }
+            }
+        }
+    }
+}
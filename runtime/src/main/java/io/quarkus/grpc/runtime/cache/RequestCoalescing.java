@@ -0,0 +1,86 @@
+package io.quarkus.grpc.runtime.cache;
+
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.quarkus.grpc.runtime.metrics.PrometheusWriter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the request coalescers of the methods annotated with
+ * {@link io.quarkus.grpc.runtime.annotations.CoalesceRequests}.
+ */
+public final class RequestCoalescing {
+
+    private static final ConcurrentMap<String, RequestCoalescer> COALESCERS = new ConcurrentHashMap<>();
+
+    private RequestCoalescing() {
+        // Avoid direct instantiation
+    }
+
+    /**
+     * Enables the coalescing of the identical concurrent calls of some methods of a service. Only unary methods can
+     * be coalesced, the other methods are kept unchanged.
+     *
+     * @param definition the service definition
+     * @param methods the full names of the methods whose calls are coalesced
+     * @return the new service definition
+     */
+    public static ServerServiceDefinition withCoalescing(ServerServiceDefinition definition, Set<String> methods) {
+        return ServiceDefinitions.replaceUnaryMethods(definition, methods, "Request coalescing",
+                method -> withCoalescing(method));
+    }
+
+    private static <ReqT, RespT> ServerMethodDefinition<ReqT, RespT> withCoalescing(
+            ServerMethodDefinition<ReqT, RespT> method) {
+        MethodDescriptor<ReqT, RespT> descriptor = method.getMethodDescriptor();
+        RequestCoalescer coalescer = new RequestCoalescer(descriptor.getFullMethodName(),
+                descriptor.getRequestMarshaller());
+        COALESCERS.put(descriptor.getFullMethodName(), coalescer);
+        return ServerMethodDefinition.create(descriptor,
+                ServiceDefinitions.withContextValue(method.getServerCallHandler(), RequestCoalescer.KEY, coalescer));
+    }
+
+    /**
+     * @param fullMethodName the full method name, such as {@code helloworld.Greeter/SayHello}
+     * @return the coalescer of the method, {@code null} if the calls of the method are not coalesced
+     */
+    public static RequestCoalescer get(String fullMethodName) {
+        return COALESCERS.get(fullMethodName);
+    }
+
+    /**
+     * Drops all the coalescers, called when the server stops.
+     */
+    public static void clear() {
+        COALESCERS.clear();
+    }
+
+    /**
+     * Writes the coalescing metrics using the Prometheus text format.
+     *
+     * @param out the output
+     */
+    public static void writeTo(StringBuilder out) {
+        if (COALESCERS.isEmpty()) {
+            return;
+        }
+        Map<String, RequestCoalescer> sorted = new TreeMap<>(COALESCERS);
+        PrometheusWriter.header(out, "grpc_server_coalesced_calls_total", "counter",
+                "Total number of calls that received the result of an identical call in flight instead of invoking "
+                        + "the method.");
+        sorted.forEach((name, coalescer) -> PrometheusWriter.sample(out, "grpc_server_coalesced_calls_total",
+                labels(name), coalescer.getCoalescedCalls()));
+    }
+
+    private static String labels(String fullMethodName) {
+        int index = fullMethodName.lastIndexOf('/');
+        return "grpc_service=\"" + PrometheusWriter.escape(fullMethodName.substring(0, index))
+                + "\",grpc_method=\"" + PrometheusWriter.escape(fullMethodName.substring(index + 1)) + "\"";
+    }
+}
@@ -0,0 +1,401 @@
+package io.quarkus.grpc.runtime.cache;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import io.grpc.Context;
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import org.jboss.logging.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of the responses of a unary method, keyed by the serialized request.
+ * <p>
+ * The responses are stored with their serialized form, which is sent instead of serializing the response again. The
+ * entries expire after the configured TTL. When the cache is full, the least recently used entry is only evicted if
+ * the request of the new entry has been more frequent recently (TinyLFU admission), so a burst of one-off requests
+ * does not flush the popular responses.
+ * <p>
+ * The lookups do not lock the cache: the entries are read from a concurrent map, and the accesses are recorded in an
+ * {@link AccessBuffer}, replayed under the lock by the next update of the cache to maintain the eviction order and the
+ * frequencies.
+ * <p>
+ * The key only contains the request, unless some headers are configured as key headers: a response computed for a
+ * caller is served to any other caller sending the same request. Methods whose response depends on the caller, such
+ * as its identity, must list the headers identifying the caller, such as {@code authorization}.
+ */
+public final class ResponseCache {
+
+    static final Context.Key<ResponseCache> KEY = Context.key("quarkus-grpc-response-cache");
+    static final Context.Key<ByteString> HEADERS_KEY = Context.key("quarkus-grpc-response-cache-headers");
+
+    private static final Logger LOGGER = Logger.getLogger(ResponseCache.class.getName());
+    private static final Metadata.Key<String> AUTHORIZATION = Metadata.Key.of("authorization",
+            Metadata.ASCII_STRING_MARSHALLER);
+
+    private final String fullMethodName;
+    private final MethodDescriptor.Marshaller<Object> requestMarshaller;
+    private final MethodDescriptor.Marshaller<Object> responseMarshaller;
+    private final long ttl;
+    private final int maxEntries;
+    private final int maxEntrySize;
+    private final LongSupplier clock;
+    private final List<Metadata.Key<String>> keyHeaders;
+    private volatile boolean warned;
+
+    private final ConcurrentMap<ByteString, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ResponseKey, Entry> entriesByResponse = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by the lock.
+    private final LinkedHashMap<ByteString, Entry> order = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+    private final AccessBuffer<ByteString> accesses = new AccessBuffer<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    ResponseCache(String fullMethodName, MethodDescriptor.Marshaller<?> requestMarshaller,
+            MethodDescriptor.Marshaller<?> responseMarshaller, Duration ttl, int maxEntries, int maxEntrySize,
+            List<String> keyHeaders, LongSupplier clock) {
+        this.fullMethodName = fullMethodName;
+        this.requestMarshaller = (MethodDescriptor.Marshaller<Object>) requestMarshaller;
+        this.responseMarshaller = (MethodDescriptor.Marshaller<Object>) responseMarshaller;
+        this.ttl = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.maxEntrySize = maxEntrySize;
+        this.clock = clock;
+        this.sketch = new FrequencySketch(maxEntries);
+        List<Metadata.Key<String>> keys = new ArrayList<>();
+        for (String name : keyHeaders) {
+            if (name.endsWith(Metadata.BINARY_HEADER_SUFFIX)) {
+                throw new IllegalArgumentException("Binary header " + name + " cannot be used as response cache key");
+            }
+            keys.add(Metadata.Key.of(name, Metadata.ASCII_STRING_MARSHALLER));
+        }
+        this.keyHeaders = Collections.unmodifiableList(keys);
+    }
+
+    /**
+     * @return the cache of the method of the current call, {@code null} if the responses of the method are not cached
+     */
+    public static ResponseCache current() {
+        return KEY.get();
+    }
+
+    public String getFullMethodName() {
+        return fullMethodName;
+    }
+
+    /**
+     * @param request the request
+     * @return the cache key of the request in the current call, i.e. its serialized form, followed by the values of
+     *         the key headers if any
+     */
+    public ByteString keyOf(Object request) {
+        ByteString requestKey = UnsafeByteOperations.unsafeWrap(serialize(requestMarshaller.stream(request)));
+        if (keyHeaders.isEmpty()) {
+            return requestKey;
+        }
+        ByteString headers = HEADERS_KEY.get();
+        return lengthPrefixed(requestKey).concat(headers == null ? ByteString.EMPTY : headers);
+    }
+
+    /**
+     * Encodes the values of the key headers of a call, attached to the context of the call.
+     *
+     * @param headers the headers of the call
+     * @return the encoded values, {@code null} if the cache does not have key headers
+     */
+    ByteString headersKey(Metadata headers) {
+        if (keyHeaders.isEmpty()) {
+            if (!warned && headers.containsKey(AUTHORIZATION)) {
+                warned = true;
+                LOGGER.warnf("The responses of the GRPC method '%s' are cached regardless of the 'authorization' "
+                        + "header, and are shared by all the callers - configure the key headers of the cache if the "
+                        + "responses depend on the caller", fullMethodName);
+            }
+            return null;
+        }
+        ByteString.Output out = ByteString.newOutput();
+        for (Metadata.Key<String> key : keyHeaders) {
+            String value = headers.get(key);
+            if (value == null) {
+                out.write(0);
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.write(1);
+                out.write(lengthOf(bytes.length), 0, 4);
+                out.write(bytes, 0, bytes.length);
+            }
+        }
+        return out.toByteString();
+    }
+
+    /**
+     * @param key the cache key of the request
+     * @param <O> the response type
+     * @return the cached response, {@code null} if there is none or if it has expired
+     */
+    @SuppressWarnings("unchecked")
+    public <O> O get(ByteString key) {
+        recordAccess(key);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.isExpired(clock.getAsLong())) {
+            lock.lock();
+            try {
+                remove(entry);
+            } finally {
+                lock.unlock();
+            }
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return (O) entry.response;
+    }
+
+    /**
+     * Caches a response. The response is not cached if its serialized form is too large, or if the cache is full and
+     * its request is less frequent than the request of the least recently used entry.
+     *
+     * @param key the cache key of the request
+     * @param response the response
+     * @return whether the response has been cached
+     */
+    public boolean put(ByteString key, Object response) {
+        Entry cached = entries.get(key);
+        if (cached != null && cached.response == response) {
+            // Already cached, for instance by another call coalesced with this one.
+            return true;
+        }
+        byte[] serialized = serialize(responseMarshaller.stream(response));
+        if (serialized.length > maxEntrySize) {
+            return false;
+        }
+        long now = clock.getAsLong();
+        Entry entry = new Entry(key, response, serialized, now + ttl);
+        lock.lock();
+        try {
+            drainAccesses();
+            Entry existing = order.get(key);
+            if (existing != null) {
+                remove(existing);
+            } else if (order.size() >= maxEntries && !evictFor(key, now)) {
+                return false;
+            }
+            order.put(key, entry);
+            entries.put(key, entry);
+            entriesByResponse.put(new ResponseKey(response), entry);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the cached response of a request.
+     *
+     * @param request the request
+     * @return whether a response was cached
+     */
+    public boolean invalidate(Object request) {
+        ByteString requestKey = UnsafeByteOperations.unsafeWrap(serialize(requestMarshaller.stream(request)));
+        lock.lock();
+        try {
+            if (keyHeaders.isEmpty()) {
+                Entry entry = order.get(requestKey);
+                if (entry == null) {
+                    return false;
+                }
+                remove(entry);
+                return true;
+            }
+            // Removes the responses of the request for all the values of the key headers.
+            ByteString prefix = lengthPrefixed(requestKey);
+            List<Entry> removed = new ArrayList<>();
+            for (Entry entry : order.values()) {
+                if (entry.key.startsWith(prefix)) {
+                    removed.add(entry);
+                }
+            }
+            removed.forEach(this::remove);
+            return !removed.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all the cached responses.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            order.clear();
+            entries.clear();
+            entriesByResponse.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param response a response
+     * @return the serialized form of the response if it is cached, {@code null} otherwise
+     */
+    byte[] getSerializedForm(Object response) {
+        Entry entry = entriesByResponse.get(new ResponseKey(response));
+        return entry == null ? null : entry.serialized;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Makes room for a new entry, evicting the expired entry or the least recently used entry.
+     *
+     * @return whether an entry has been evicted
+     */
+    private boolean evictFor(ByteString key, long now) {
+        Entry victim = order.values().iterator().next();
+        if (!victim.isExpired(now) && sketch.frequency(key.hashCode()) <= sketch.frequency(victim.key.hashCode())) {
+            return false;
+        }
+        remove(victim);
+        evictions.increment();
+        return true;
+    }
+
+    private void remove(Entry entry) {
+        if (order.remove(entry.key, entry)) {
+            entries.remove(entry.key, entry);
+            entriesByResponse.remove(new ResponseKey(entry.response), entry);
+        }
+    }
+
+    /**
+     * Records an access without locking. When the buffer is full, it is drained if the lock is free, and the access
+     * is dropped otherwise.
+     */
+    private void recordAccess(ByteString key) {
+        if (!accesses.offer(key) && lock.tryLock()) {
+            try {
+                drainAccesses();
+                onAccess(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void drainAccesses() {
+        accesses.drainTo(this::onAccess);
+    }
+
+    private void onAccess(ByteString key) {
+        sketch.increment(key.hashCode());
+        // Moves the entry, if any, to the end of the access order.
+        order.get(key);
+    }
+
+    private static ByteString lengthPrefixed(ByteString value) {
+        return UnsafeByteOperations.unsafeWrap(lengthOf(value.size())).concat(value);
+    }
+
+    private static byte[] lengthOf(int length) {
+        return new byte[] { (byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length };
+    }
+
+    static byte[] serialize(InputStream stream) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(
+                    stream instanceof KnownLength ? Math.max(stream.available(), 32) : 256);
+            if (stream instanceof Drainable) {
+                ((Drainable) stream).drainTo(out);
+            } else {
+                byte[] buffer = new byte[4096];
+                int count;
+                while ((count = stream.read(buffer)) != -1) {
+                    out.write(buffer, 0, count);
+                }
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw Status.INTERNAL.withDescription("Unable to serialize the message").withCause(e)
+                    .asRuntimeException();
+        }
+    }
+
+    /**
+     * Identifies a response by identity, as a response is only found by the marshaller if it is the cached instance.
+     */
+    private static final class ResponseKey {
+        final Object response;
+
+        ResponseKey(Object response) {
+            this.response = response;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ResponseKey && ((ResponseKey) other).response == response;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(response);
+        }
+    }
+
+    private static final class Entry {
+        final ByteString key;
+        final Object response;
+        final byte[] serialized;
+        final long expiresAt;
+
+        Entry(ByteString key, Object response, byte[] serialized, long expiresAt) {
+            this.key = key;
+            this.response = response;
+            this.serialized = serialized;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package io.quarkus.grpc.runtime.cache;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.quarkus.grpc.runtime.config.GrpcResponseCacheConfig;
+import io.quarkus.grpc.runtime.config.GrpcResponseCacheOverrideConfig;
+import io.quarkus.grpc.runtime.metrics.PrometheusWriter;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the response caches of the methods annotated with {@link io.quarkus.grpc.runtime.annotations.CacheResponse}.
+ * <p>
+ * The caches are static, as {@link io.quarkus.grpc.runtime.ServerCalls} looks them up from the gRPC context of the
+ * call. This class is also the entry point to invalidate the cached responses.
+ */
+public final class ResponseCaches {
+
+    private static final Logger LOGGER = Logger.getLogger(ResponseCaches.class.getName());
+    private static final ConcurrentMap<String, ResponseCache> CACHES = new ConcurrentHashMap<>();
+
+    private ResponseCaches() {
+        // Avoid direct instantiation
+    }
+
+    /**
+     * Enables the response cache of some methods of a service. Only unary methods can be cached, the other methods
+     * are kept unchanged.
+     *
+     * @param definition the service definition
+     * @param methods the full names of the methods to cache
+     * @param config the configuration
+     * @return the new service definition
+     */
+    public static ServerServiceDefinition withCaching(ServerServiceDefinition definition, Set<String> methods,
+            GrpcResponseCacheConfig config) {
+        return ServiceDefinitions.replaceUnaryMethods(definition, methods, "The response cache",
+                method -> withCaching(method, config));
+    }
+
+    private static <ReqT, RespT> ServerMethodDefinition<ReqT, RespT> withCaching(
+            ServerMethodDefinition<ReqT, RespT> method, GrpcResponseCacheConfig config) {
+        MethodDescriptor<ReqT, RespT> descriptor = method.getMethodDescriptor();
+        ResponseCache cache = create(descriptor, config);
+        CACHES.put(descriptor.getFullMethodName(), cache);
+        return ServerMethodDefinition.create(
+                descriptor.toBuilder(descriptor.getRequestMarshaller(),
+                        new CachingMarshaller<>(descriptor.getResponseMarshaller(), cache)).build(),
+                withCache(method.getServerCallHandler(), cache));
+    }
+
+    /**
+     * @return a handler attaching the cache and the key headers of the call to the gRPC context of the call
+     */
+    private static <ReqT, RespT> ServerCallHandler<ReqT, RespT> withCache(ServerCallHandler<ReqT, RespT> handler,
+            ResponseCache cache) {
+        return (call, headers) -> Contexts.interceptCall(Context.current()
+                .withValues(ResponseCache.KEY, cache, ResponseCache.HEADERS_KEY, cache.headersKey(headers)),
+                call, headers, handler);
+    }
+
+    /**
+     * Creates the cache of a method: the method settings take precedence over the service settings, which take
+     * precedence over the global settings.
+     */
+    private static ResponseCache create(MethodDescriptor<?, ?> descriptor, GrpcResponseCacheConfig config) {
+        String fullMethodName = descriptor.getFullMethodName();
+        Map<String, GrpcResponseCacheOverrideConfig> overrides = config.overrides == null
+                ? Collections.emptyMap()
+                : config.overrides;
+        Duration ttl = config.ttl;
+        int maxEntries = config.maxEntries;
+        int maxEntrySize = config.maxEntrySize;
+        List<String> keyHeaders = config.keyHeaders.orElse(Collections.emptyList());
+        for (GrpcResponseCacheOverrideConfig override : new GrpcResponseCacheOverrideConfig[] {
+                overrides.get(MethodDescriptor.extractFullServiceName(fullMethodName)),
+                overrides.get(fullMethodName) }) {
+            if (override != null) {
+                ttl = override.ttl.orElse(ttl);
+                maxEntries = override.maxEntries.orElse(maxEntries);
+                maxEntrySize = override.maxEntrySize.orElse(maxEntrySize);
+                keyHeaders = override.keyHeaders.orElse(keyHeaders);
+            }
+        }
+        LOGGER.debugf("Responses of GRPC method '%s' cached for %s, at most %d entries", fullMethodName, ttl,
+                maxEntries);
+        return new ResponseCache(fullMethodName, descriptor.getRequestMarshaller(), descriptor.getResponseMarshaller(),
+                ttl, Math.max(maxEntries, 1), maxEntrySize, keyHeaders, System::nanoTime);
+    }
+
+    /**
+     * @param fullMethodName the full method name, such as {@code helloworld.Greeter/SayHello}
+     * @return the response cache of the method, {@code null} if the responses of the method are not cached
+     */
+    public static ResponseCache get(String fullMethodName) {
+        return CACHES.get(fullMethodName);
+    }
+
+    /**
+     * Removes all the cached responses of a method.
+     *
+     * @param fullMethodName the full method name, such as {@code helloworld.Greeter/SayHello}
+     */
+    public static void invalidateAll(String fullMethodName) {
+        ResponseCache cache = CACHES.get(fullMethodName);
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Removes all the cached responses of all the methods.
+     */
+    public static void invalidateAll() {
+        CACHES.values().forEach(ResponseCache::invalidateAll);
+    }
+
+    /**
+     * Drops all the caches, called when the server stops.
+     */
+    public static void clear() {
+        CACHES.clear();
+    }
+
+    /**
+     * Writes the cache metrics using the Prometheus text format.
+     *
+     * @param out the output
+     */
+    public static void writeTo(StringBuilder out) {
+        if (CACHES.isEmpty()) {
+            return;
+        }
+        Map<String, ResponseCache> sorted = new TreeMap<>(CACHES);
+        PrometheusWriter.header(out, "grpc_server_response_cache_hits_total", "counter",
+                "Total number of calls served from the response cache.");
+        sorted.forEach((name, cache) -> PrometheusWriter.sample(out, "grpc_server_response_cache_hits_total",
+                labels(name), cache.getHits()));
+        PrometheusWriter.header(out, "grpc_server_response_cache_misses_total", "counter",
+                "Total number of calls not found in the response cache.");
+        sorted.forEach((name, cache) -> PrometheusWriter.sample(out, "grpc_server_response_cache_misses_total",
+                labels(name), cache.getMisses()));
+        PrometheusWriter.header(out, "grpc_server_response_cache_evictions_total", "counter",
+                "Total number of responses evicted from the response cache to make room for new ones.");
+        sorted.forEach((name, cache) -> PrometheusWriter.sample(out, "grpc_server_response_cache_evictions_total",
+                labels(name), cache.getEvictions()));
+        PrometheusWriter.header(out, "grpc_server_response_cache_entries", "gauge",
+                "Number of responses in the response cache.");
+        sorted.forEach((name, cache) -> PrometheusWriter.sample(out, "grpc_server_response_cache_entries",
+                labels(name), cache.size()));
+    }
+
+    private static String labels(String fullMethodName) {
+        int index = fullMethodName.lastIndexOf('/');
+        return "grpc_service=\"" + PrometheusWriter.escape(fullMethodName.substring(0, index))
+                + "\",grpc_method=\"" + PrometheusWriter.escape(fullMethodName.substring(index + 1)) + "\"";
+    }
+}
@@ -0,0 +1,70 @@
+package io.quarkus.grpc.runtime.cache;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.ServiceDescriptor;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Helpers to rebuild the definition of a service with some of its unary methods replaced.
+ */
+final class ServiceDefinitions {
+
+    private static final Logger LOGGER = Logger.getLogger(ServiceDefinitions.class.getName());
+
+    private ServiceDefinitions() {
+        // Avoid direct instantiation
+    }
+
+    /**
+     * @param definition the service definition
+     * @param methods the full names of the methods to replace, only the unary methods are replaced
+     * @param feature the name of the feature applied to the methods, used in the warnings
+     * @param replacement the function replacing a method
+     * @return the new service definition
+     */
+    static ServerServiceDefinition replaceUnaryMethods(ServerServiceDefinition definition, Set<String> methods,
+            String feature, Function<ServerMethodDefinition<?, ?>, ServerMethodDefinition<?, ?>> replacement) {
+        ServiceDescriptor descriptor = definition.getServiceDescriptor();
+        ServiceDescriptor.Builder descriptorBuilder = ServiceDescriptor.newBuilder(descriptor.getName())
+                .setSchemaDescriptor(descriptor.getSchemaDescriptor());
+        List<ServerMethodDefinition<?, ?>> result = new ArrayList<>();
+        for (ServerMethodDefinition<?, ?> method : definition.getMethods()) {
+            ServerMethodDefinition<?, ?> replaced = method;
+            String name = method.getMethodDescriptor().getFullMethodName();
+            if (methods.contains(name)) {
+                if (method.getMethodDescriptor().getType() == MethodDescriptor.MethodType.UNARY) {
+                    replaced = replacement.apply(method);
+                } else {
+                    LOGGER.warnf("%s is not applied to the GRPC method '%s', only unary methods are supported",
+                            feature, name);
+                }
+            }
+            result.add(replaced);
+            descriptorBuilder.addMethod(replaced.getMethodDescriptor());
+        }
+
+        ServerServiceDefinition.Builder builder = ServerServiceDefinition.builder(descriptorBuilder.build());
+        result.forEach(builder::addMethod);
+        return builder.build();
+    }
+
+    /**
+     * @return a handler attaching a value to the gRPC context of the calls, so the value is visible to
+     *         {@link io.quarkus.grpc.runtime.ServerCalls}
+     */
+    static <ReqT, RespT, T> ServerCallHandler<ReqT, RespT> withContextValue(ServerCallHandler<ReqT, RespT> handler,
+            Context.Key<T> key, T value) {
+        return (call, headers) -> Contexts.interceptCall(Context.current().withValue(key, value), call, headers,
+                handler);
+    }
+}
@@ -0,0 +1,50 @@
+package io.quarkus.grpc.runtime.compression;
+
+import io.grpc.Codec;
+import io.grpc.CompressorRegistry;
+import io.grpc.DecompressorRegistry;
+import io.grpc.Metadata;
+
+import java.util.List;
+
+/**
+ * Creates the compressor and decompressor registries containing the {@link Codec} beans, in addition to the
+ * built-in {@code gzip} codec.
+ */
+public final class Codecs {
+
+    /**
+     * The header listing the encodings accepted by the peer.
+     */
+    static final Metadata.Key<String> ACCEPT_ENCODING = Metadata.Key.of("grpc-accept-encoding",
+            Metadata.ASCII_STRING_MARSHALLER);
+
+    private Codecs() {
+        // Avoid direct instantiation
+    }
+
+    public static CompressorRegistry createCompressorRegistry(List<Codec> codecs) {
+        if (codecs.isEmpty()) {
+            return CompressorRegistry.getDefaultInstance();
+        }
+        CompressorRegistry registry = CompressorRegistry.newEmptyInstance();
+        registry.register(new Codec.Gzip());
+        codecs.forEach(registry::register);
+        return registry;
+    }
+
+    /**
+     * Creates the decompressor registry. The codecs are advertised, so they are listed in the
+     * {@code grpc-accept-encoding} header sent to the peer.
+     *
+     * @param codecs the codecs
+     * @return the registry
+     */
+    public static DecompressorRegistry createDecompressorRegistry(List<Codec> codecs) {
+        DecompressorRegistry registry = DecompressorRegistry.getDefaultInstance();
+        for (Codec codec : codecs) {
+            registry = registry.with(codec, true);
+        }
+        return registry;
+    }
+}
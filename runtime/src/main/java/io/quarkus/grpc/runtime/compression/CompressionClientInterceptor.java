@@ -0,0 +1,77 @@
+package io.quarkus.grpc.runtime.compression;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.CompressorRegistry;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.quarkus.grpc.runtime.supports.MessageSizes;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * gRPC Client interceptor compressing the messages sent by the client, according to the {@link CompressionPolicy}
+ * of each method.
+ * <p>
+ * The encodings accepted by the server are learnt from the {@code grpc-accept-encoding} header of its responses.
+ * Until then, the messages are sent uncompressed. Afterwards, the algorithm of a call is the first algorithm of the
+ * policy that is both registered in the client and accepted by the server.
+ */
+public class CompressionClientInterceptor implements ClientInterceptor {
+
+    private final Function<MethodDescriptor<?, ?>, CompressionPolicy> resolver;
+    private final CompressorRegistry compressors;
+    private final ConcurrentMap<String, CompressionPolicy> policies = new ConcurrentHashMap<>();
+    private volatile String serverAcceptEncoding;
+
+    /**
+     * @param resolver computes the policy of a method, invoked once per method
+     * @param compressors the compressors registered in the channel
+     */
+    public CompressionClientInterceptor(Function<MethodDescriptor<?, ?>, CompressionPolicy> resolver,
+            CompressorRegistry compressors) {
+        this.resolver = resolver;
+        this.compressors = compressors;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+            CallOptions callOptions, Channel next) {
+        CompressionPolicy policy = policies.computeIfAbsent(method.getFullMethodName(), k -> resolver.apply(method));
+        String acceptEncoding = serverAcceptEncoding;
+        String algorithm = policy.select(name -> compressors.lookupCompressor(name) != null
+                && CompressionPolicy.isAccepted(acceptEncoding, name));
+        CallOptions options = algorithm == null ? callOptions : callOptions.withCompression(algorithm);
+
+        return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(next.newCall(method, options)) {
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(
+                        responseListener) {
+                    @Override
+                    public void onHeaders(Metadata headers) {
+                        String accepted = headers.get(Codecs.ACCEPT_ENCODING);
+                        if (accepted != null) {
+                            serverAcceptEncoding = accepted;
+                        }
+                        super.onHeaders(headers);
+                    }
+                }, headers);
+            }
+
+            @Override
+            public void sendMessage(ReqT message) {
+                if (algorithm != null) {
+                    setMessageCompression(policy.shouldCompress(MessageSizes.sizeOf(message)));
+                }
+                super.sendMessage(message);
+            }
+        };
+    }
+}
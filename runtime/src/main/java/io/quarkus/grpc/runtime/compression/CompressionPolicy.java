@@ -0,0 +1,131 @@
+package io.quarkus.grpc.runtime.compression;
+
+import io.grpc.CompressorRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Describes how the messages of a gRPC method are compressed.
+ */
+public final class CompressionPolicy {
+
+    /**
+     * The policy disabling compression.
+     */
+    public static final CompressionPolicy NONE = new CompressionPolicy(null, Integer.MAX_VALUE, false, 1);
+
+    private final List<String> algorithms;
+    private final int minMessageSize;
+    private final boolean adaptive;
+    private final double cpuThreshold;
+
+    /**
+     * @param algorithm the comma-separated list of compression algorithms, such as {@code zstd,gzip}, in order of
+     *        preference, {@code null} or {@code identity} to disable compression
+     * @param minMessageSize the min size, in bytes, of the messages to compress
+     * @param adaptive whether compression is disabled when the CPU is saturated
+     * @param cpuThreshold the CPU load above which the CPU is considered saturated
+     */
+    public CompressionPolicy(String algorithm, int minMessageSize, boolean adaptive, double cpuThreshold) {
+        this.algorithms = parse(algorithm);
+        this.minMessageSize = minMessageSize;
+        this.adaptive = adaptive;
+        this.cpuThreshold = cpuThreshold;
+    }
+
+    public boolean isEnabled() {
+        return !algorithms.isEmpty();
+    }
+
+    /**
+     * @return the compression algorithms, in order of preference
+     */
+    public List<String> getAlgorithms() {
+        return algorithms;
+    }
+
+    /**
+     * Selects the preferred algorithm supported by both sides.
+     *
+     * @param supported whether an algorithm is supported
+     * @return the preferred supported algorithm, {@code null} if none
+     */
+    public String select(Predicate<String> supported) {
+        for (String algorithm : algorithms) {
+            if (supported.test(algorithm)) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+
+    public int getMinMessageSize() {
+        return minMessageSize;
+    }
+
+    /**
+     * Decides if a message must be compressed.
+     *
+     * @param size the serialized size of the message, negative if unknown
+     * @return whether the message must be compressed
+     */
+    public boolean shouldCompress(int size) {
+        if (algorithms.isEmpty() || size < minMessageSize) {
+            return false;
+        }
+        return !adaptive || !CpuLoadMonitor.isSaturated(cpuThreshold);
+    }
+
+    /**
+     * Checks that the algorithms of a policy are registered, so a misconfiguration is reported on startup instead of
+     * failing every call.
+     *
+     * @param algorithm the comma-separated list of compression algorithms, may be {@code null}
+     * @param compressors the registered compressors
+     * @throws IllegalArgumentException if an algorithm is not registered
+     */
+    public static void validate(String algorithm, CompressorRegistry compressors) {
+        for (String name : parse(algorithm)) {
+            if (compressors.lookupCompressor(name) == null) {
+                throw new IllegalArgumentException("Unknown compression algorithm " + name
+                        + " - register an io.grpc.Codec bean implementing it");
+            }
+        }
+    }
+
+    private static List<String> parse(String algorithm) {
+        if (algorithm == null) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>();
+        for (String name : algorithm.split(",")) {
+            name = name.trim();
+            if (!name.isEmpty() && !name.equals("identity")) {
+                result.add(name);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Checks if an algorithm is listed in a {@code grpc-accept-encoding} header.
+     *
+     * @param acceptEncoding the header value, may be {@code null}
+     * @param algorithm the algorithm
+     * @return whether the algorithm is accepted
+     */
+    static boolean isAccepted(String acceptEncoding, String algorithm) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String name : acceptEncoding.split(",")) {
+            if (name.trim().equals(algorithm)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,99 @@
+package io.quarkus.grpc.runtime.compression;
+
+import io.grpc.CompressorRegistry;
+import io.grpc.ForwardingServerCall;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.quarkus.grpc.runtime.config.GrpcCompressionConfig;
+import io.quarkus.grpc.runtime.config.GrpcCompressionOverrideConfig;
+import io.quarkus.grpc.runtime.supports.MessageSizes;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * gRPC Server interceptor compressing the messages sent by the server, according to the {@link CompressionPolicy} of
+ * each method.
+ * <p>
+ * The algorithm of a call is the first algorithm of the policy that is both registered in the server and listed in
+ * the {@code grpc-accept-encoding} header sent by the client.
+ */
+public class CompressionServerInterceptor implements ServerInterceptor {
+
+    private final GrpcCompressionConfig config;
+    private final CompressorRegistry compressors;
+    private final ConcurrentMap<String, CompressionPolicy> policies = new ConcurrentHashMap<>();
+
+    /**
+     * @param config the compression configuration
+     * @param compressors the registered compressors
+     * @throws IllegalArgumentException if a configured algorithm is not registered
+     */
+    public CompressionServerInterceptor(GrpcCompressionConfig config, CompressorRegistry compressors) {
+        this.config = config;
+        this.compressors = compressors;
+        CompressionPolicy.validate(config.algorithm.orElse(null), compressors);
+        if (config.overrides != null) {
+            config.overrides.values()
+                    .forEach(override -> CompressionPolicy.validate(override.algorithm.orElse(null), compressors));
+        }
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+        CompressionPolicy policy = policies.computeIfAbsent(call.getMethodDescriptor().getFullMethodName(),
+                this::resolve);
+        if (!policy.isEnabled()) {
+            return next.startCall(call, headers);
+        }
+        String acceptEncoding = headers.get(Codecs.ACCEPT_ENCODING);
+        String algorithm = policy.select(name -> compressors.lookupCompressor(name) != null
+                && CompressionPolicy.isAccepted(acceptEncoding, name));
+        if (algorithm == null) {
+            return next.startCall(call, headers);
+        }
+
+        call.setCompression(algorithm);
+        return next.startCall(new ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT>(call) {
+            @Override
+            public void sendMessage(RespT message) {
+                setMessageCompression(policy.shouldCompress(MessageSizes.sizeOf(message)));
+                super.sendMessage(message);
+            }
+        }, headers);
+    }
+
+    /**
+     * Computes the policy of a method: the method settings take precedence over the service settings, which take
+     * precedence over the global settings.
+     *
+     * @param fullMethodName the full method name
+     * @return the policy
+     */
+    CompressionPolicy resolve(String fullMethodName) {
+        Map<String, GrpcCompressionOverrideConfig> overrides = config.overrides == null
+                ? Collections.emptyMap()
+                : config.overrides;
+        GrpcCompressionOverrideConfig method = overrides.get(fullMethodName);
+        GrpcCompressionOverrideConfig service = overrides.get(MethodDescriptor.extractFullServiceName(fullMethodName));
+
+        String algorithm = config.algorithm.orElse(null);
+        int minMessageSize = config.minMessageSize;
+        for (GrpcCompressionOverrideConfig override : new GrpcCompressionOverrideConfig[] { service, method }) {
+            if (override != null) {
+                algorithm = override.algorithm.orElse(algorithm);
+                minMessageSize = override.minMessageSize.orElse(minMessageSize);
+            }
+        }
+        if (algorithm == null) {
+            return CompressionPolicy.NONE;
+        }
+        return new CompressionPolicy(algorithm, minMessageSize, config.adaptive, config.cpuThreshold);
+    }
+}
@@ -0,0 +1,60 @@
+package io.quarkus.grpc.runtime.compression;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monitors the CPU load, used to stop compressing messages when the CPU is saturated.
+ * <p>
+ * The load is the recent CPU usage of the process, relative to the processors available to the JVM, so it follows the
+ * CPU quota of a container. When the JVM does not provide it, the system load average divided by the number of
+ * processors is used instead, which is host-wide and averaged over a minute.
+ * <p>
+ * The load is sampled lazily, at most once per second, so no thread is required.
+ */
+public final class CpuLoadMonitor {
+
+    private static final long SAMPLING_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+    private static final OperatingSystemMXBean OS = ManagementFactory.getOperatingSystemMXBean();
+    private static final int PROCESSORS = Runtime.getRuntime().availableProcessors();
+
+    private static volatile long lastSample = System.nanoTime() - SAMPLING_INTERVAL;
+    private static volatile double load;
+
+    private CpuLoadMonitor() {
+        // Avoid direct instantiation
+    }
+
+    /**
+     * @return the CPU load, between 0 and 1 for the process CPU usage, negative if not available
+     */
+    public static double getLoad() {
+        long now = System.nanoTime();
+        if (now - lastSample >= SAMPLING_INTERVAL) {
+            // Concurrent samplings are harmless.
+            lastSample = now;
+            load = sample();
+        }
+        return load;
+    }
+
+    private static double sample() {
+        if (OS instanceof com.sun.management.OperatingSystemMXBean) {
+            double usage = ((com.sun.management.OperatingSystemMXBean) OS).getProcessCpuLoad();
+            if (usage >= 0) {
+                return usage;
+            }
+        }
+        double average = OS.getSystemLoadAverage();
+        return average < 0 ? -1 : average / PROCESSORS;
+    }
+
+    /**
+     * @param threshold the load threshold, 1.0 meaning all the processors are busy
+     * @return whether the load is greater or equal to the threshold
+     */
+    public static boolean isSaturated(double threshold) {
+        return getLoad() >= threshold;
+    }
+}
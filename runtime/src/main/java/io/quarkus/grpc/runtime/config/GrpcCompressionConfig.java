@@ -0,0 +1,50 @@
+package io.quarkus.grpc.runtime.config;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Configures the compression of the messages sent by the gRPC server.
+ */
+@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+@ConfigGroup
+public class GrpcCompressionConfig {
+
+    /**
+     * The compression algorithm used for the messages sent by the server, such as {@code gzip}.
+     * If not set, the messages are not compressed.
+     * The algorithm is only used if the client accepts it.
+     */
+    @ConfigItem
+    public Optional<String> algorithm;
+
+    /**
+     * The min size, in bytes, of the messages to compress. Smaller messages are sent uncompressed.
+     */
+    @ConfigItem(defaultValue = "1024")
+    public int minMessageSize;
+
+    /**
+     * Whether compression is skipped while the CPU is saturated.
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean adaptive;
+
+    /**
+     * The CPU load (CPU usage of the process, from 0 to 1, relative to the processors available to the application)
+     * above which the CPU is considered saturated, when {@code adaptive} is enabled.
+     */
+    @ConfigItem(defaultValue = "0.9")
+    public double cpuThreshold;
+
+    /**
+     * Overrides the compression settings for a service, using the service name as key (such as
+     * {@code helloworld.Greeter}), or for a method, using the full method name as key (such as
+     * {@code helloworld.Greeter/SayHello}).
+     */
+    @ConfigItem
+    public Map<String, GrpcCompressionOverrideConfig> overrides;
+}
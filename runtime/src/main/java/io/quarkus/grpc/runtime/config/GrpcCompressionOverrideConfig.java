@@ -0,0 +1,27 @@
+package io.quarkus.grpc.runtime.config;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Compression settings of a service or method.
+ */
+@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+@ConfigGroup
+public class GrpcCompressionOverrideConfig {
+
+    /**
+     * The compression algorithm, {@code identity} to disable compression.
+     */
+    @ConfigItem
+    public Optional<String> algorithm;
+
+    /**
+     * The min size, in bytes, of the messages to compress.
+     */
+    @ConfigItem
+    public OptionalInt minMessageSize;
+}
@@ -0,0 +1,47 @@
+package io.quarkus.grpc.runtime.config;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+import java.util.Map;
+
+/**
+ * Configures the adaptive concurrency limit applied to each gRPC method.
+ */
+@ConfigGroup
+public class GrpcConcurrencyLimitConfig {
+
+    /**
+     * Whether the number of calls in flight of each method is limited. The limit adapts to the observed latency:
+     * it grows while the latency stays close to the min latency, and shrinks when calls start queuing.
+     * The calls beyond the limit are rejected with {@code RESOURCE_EXHAUSTED}.
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean enabled;
+
+    /**
+     * The initial limit of each method.
+     */
+    @ConfigItem(defaultValue = "20")
+    public int initialLimit;
+
+    /**
+     * The min limit of each method.
+     */
+    @ConfigItem(defaultValue = "1")
+    public int minLimit;
+
+    /**
+     * The max limit of each method.
+     */
+    @ConfigItem(defaultValue = "1000")
+    public int maxLimit;
+
+    /**
+     * Overrides the limit settings for a service, using the service name as key (such as
+     * {@code helloworld.Greeter}), or for a method, using the full method name as key (such as
+     * {@code helloworld.Greeter/SayHello}).
+     */
+    @ConfigItem
+    public Map<String, GrpcConcurrencyLimitOverrideConfig> overrides;
+}
@@ -0,0 +1,39 @@
+package io.quarkus.grpc.runtime.config;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Concurrency limit settings of a service or method.
+ */
+@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+@ConfigGroup
+public class GrpcConcurrencyLimitOverrideConfig {
+
+    /**
+     * Whether the number of calls in flight is limited.
+     */
+    @ConfigItem
+    public Optional<Boolean> enabled;
+
+    /**
+     * The initial limit.
+     */
+    @ConfigItem
+    public OptionalInt initialLimit;
+
+    /**
+     * The min limit.
+     */
+    @ConfigItem
+    public OptionalInt minLimit;
+
+    /**
+     * The max limit.
+     */
+    @ConfigItem
+    public OptionalInt maxLimit;
+}
@@ -0,0 +1,98 @@
+package io.quarkus.grpc.runtime.config;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Configures the lifecycle of the HTTP/2 connections accepted by the gRPC server.
+ */
+@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+@ConfigGroup
+public class GrpcConnectionConfig {
+
+    /**
+     * The delay without read activity after which the server sends a keepalive ping to the client.
+     * If not set, the gRPC default (2 hours) is used.
+     */
+    @ConfigItem
+    public Optional<Duration> keepAliveTime;
+
+    /**
+     * The max duration to wait for the acknowledgement of a keepalive ping before closing the connection.
+     * If not set, the gRPC default (20 seconds) is used.
+     */
+    @ConfigItem
+    public Optional<Duration> keepAliveTimeout;
+
+    /**
+     * The most aggressive keepalive time the clients are permitted to use. Clients pinging more often are
+     * disconnected. If not set, the gRPC default (5 minutes) is used.
+     */
+    @ConfigItem
+    public Optional<Duration> permitKeepAliveTime;
+
+    /**
+     * Whether the clients are permitted to send keepalive pings when there is no call in flight.
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean permitKeepAliveWithoutCalls;
+
+    /**
+     * The max duration a connection can stay without call in flight. Idle connections are closed with a
+     * {@code GOAWAY}. If not set, idle connections are kept open.
+     */
+    @ConfigItem
+    public Optional<Duration> maxConnectionIdle;
+
+    /**
+     * The max age of a connection. Older connections are closed with a {@code GOAWAY}, so the clients reconnect,
+     * possibly to another instance. A random jitter of +/-10% is added by gRPC.
+     * If not set, connections are never recycled.
+     */
+    @ConfigItem
+    public Optional<Duration> maxConnectionAge;
+
+    /**
+     * The grace period given to the calls in flight once the max connection age is reached.
+     * The connection is forcibly closed after that period. If not set, the calls in flight are not limited.
+     */
+    @ConfigItem
+    public Optional<Duration> maxConnectionAgeGrace;
+
+    /**
+     * The max duration a streaming call can stay without sending or receiving a message.
+     * Idle streaming calls are closed with {@code DEADLINE_EXCEEDED}. If not set, idle calls are kept open.
+     */
+    @ConfigItem
+    public Optional<Duration> idleStreamTimeout;
+
+    /**
+     * The max number of concurrent HTTP/2 streams per connection, advertised to the clients with
+     * {@code SETTINGS_MAX_CONCURRENT_STREAMS}. Clients queue the calls beyond that limit.
+     * If not set, the number of streams is not limited.
+     */
+    @ConfigItem
+    public OptionalInt maxConcurrentStreams;
+
+    /**
+     * The max number of connections served, for all the server instances.
+     * The calls received on the connections beyond that limit are rejected with {@code UNAVAILABLE}. These connections
+     * stay open until {@code max-connection-age} recycles them, so both should be configured together.
+     * If not set, the number of connections is not limited.
+     */
+    @ConfigItem
+    public OptionalInt maxConnections;
+
+    /**
+     * The max number of calls in flight per connection.
+     * The calls beyond that limit are rejected with {@code RESOURCE_EXHAUSTED}.
+     * Unlike {@code max-concurrent-streams}, the rejected calls are counted in the metrics.
+     * If not set, the number of calls is not limited.
+     */
+    @ConfigItem
+    public OptionalInt maxCallsPerConnection;
+}
@@ -0,0 +1,29 @@
+package io.quarkus.grpc.runtime.config;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+import java.util.OptionalInt;
+
+/**
+ * Configures the HTTP/2 flow control of the gRPC server.
+ */
+@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+@ConfigGroup
+public class GrpcFlowControlConfig {
+
+    /**
+     * The HTTP/2 flow control window, in bytes, used for each stream and for the connection.
+     * Larger windows increase the throughput on high-bandwidth, high-latency links.
+     * If not set, the gRPC default (1 MiB) is used.
+     */
+    @ConfigItem
+    public OptionalInt window;
+
+    /**
+     * Whether the window is tuned automatically, using the bandwidth-delay product measured with HTTP/2 pings.
+     * When enabled, {@code window} is the initial window.
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean autoTuning;
+}
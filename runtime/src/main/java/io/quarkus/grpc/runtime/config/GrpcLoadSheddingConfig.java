@@ -0,0 +1,48 @@
+package io.quarkus.grpc.runtime.config;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Configures the rejection of the new calls while the event loops are lagging.
+ */
+@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+@ConfigGroup
+public class GrpcLoadSheddingConfig {
+
+    /**
+     * Whether the new calls are rejected with {@code UNAVAILABLE} while the event loop handling them is lagging.
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean enabled;
+
+    /**
+     * The event loop lag above which the new calls are rejected.
+     */
+    @ConfigItem(defaultValue = "100ms")
+    public Duration lagThreshold;
+
+    /**
+     * The interval between two measures of the event loop lag.
+     */
+    @ConfigItem(defaultValue = "50ms")
+    public Duration sampleInterval;
+
+    /**
+     * The delay after which the clients may retry a rejected call, sent in the {@code grpc-retry-pushback-ms}
+     * trailer.
+     */
+    @ConfigItem(defaultValue = "1s")
+    public Duration retryPushback;
+
+    /**
+     * The services (such as {@code helloworld.Greeter}) and methods (such as {@code helloworld.Greeter/SayHello})
+     * whose calls are never rejected.
+     */
+    @ConfigItem
+    public Optional<List<String>> critical;
+}
@@ -0,0 +1,24 @@
+package io.quarkus.grpc.runtime.config;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+/**
+ * Configures the built-in gRPC server metrics.
+ */
+@ConfigGroup
+public class GrpcMetricsConfig {
+
+    /**
+     * Whether the per-method call metrics are recorded.
+     */
+    @ConfigItem(defaultValue = "true")
+    public boolean enabled;
+
+    /**
+     * The max number of methods tracked individually.
+     * Once reached, the calls to other methods are recorded under the {@code other} method.
+     */
+    @ConfigItem(defaultValue = "500")
+    public int maxMethods;
+}
@@ -0,0 +1,52 @@
+package io.quarkus.grpc.runtime.config;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Configures the caches of the responses of the methods annotated with
+ * {@link io.quarkus.grpc.runtime.annotations.CacheResponse}.
+ */
+@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+@ConfigGroup
+public class GrpcResponseCacheConfig {
+
+    /**
+     * The duration during which a cached response is served.
+     */
+    @ConfigItem(defaultValue = "60s")
+    public Duration ttl;
+
+    /**
+     * The max number of responses cached per method. When the cache is full, a new response only replaces the
+     * least recently used one if its request is more frequent.
+     */
+    @ConfigItem(defaultValue = "1000")
+    public int maxEntries;
+
+    /**
+     * The max size, in bytes, of a cached serialized response. Larger responses are not cached.
+     */
+    @ConfigItem(defaultValue = "65536")
+    public int maxEntrySize;
+
+    /**
+     * The headers whose values are part of the cache key, such as {@code authorization}. By default, the key only
+     * contains the request, so a cached response is served to all the callers sending the same request.
+     */
+    @ConfigItem
+    public Optional<List<String>> keyHeaders;
+
+    /**
+     * Overrides the cache settings for a service, using the service name as key (such as
+     * {@code helloworld.Greeter}), or for a method, using the full method name as key (such as
+     * {@code helloworld.Greeter/SayHello}).
+     */
+    @ConfigItem
+    public Map<String, GrpcResponseCacheOverrideConfig> overrides;
+}
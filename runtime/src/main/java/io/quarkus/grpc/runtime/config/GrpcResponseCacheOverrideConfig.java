@@ -0,0 +1,41 @@
+package io.quarkus.grpc.runtime.config;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Response cache settings of a service or method.
+ */
+@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+@ConfigGroup
+public class GrpcResponseCacheOverrideConfig {
+
+    /**
+     * The duration during which a cached response is served.
+     */
+    @ConfigItem
+    public Optional<Duration> ttl;
+
+    /**
+     * The max number of cached responses.
+     */
+    @ConfigItem
+    public OptionalInt maxEntries;
+
+    /**
+     * The max size, in bytes, of a cached serialized response.
+     */
+    @ConfigItem
+    public OptionalInt maxEntrySize;
+
+    /**
+     * The headers whose values are part of the cache key.
+     */
+    @ConfigItem
+    public Optional<List<String>> keyHeaders;
+}
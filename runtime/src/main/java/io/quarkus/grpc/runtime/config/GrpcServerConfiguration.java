@@ -6,6 +6,7 @@ import io.quarkus.runtime.annotations.ConfigPhase;
 import io.quarkus.runtime.annotations.ConfigRoot;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
 
@@ -25,6 +26,28 @@ public class GrpcServerConfiguration {
     @ConfigItem(defaultValue = "0.0.0.0")
     public String host;
 
+    /**
+     * The number of gRPC server instances to deploy.
+     * Each instance runs on its own event loop and shares the port with the other instances.
+     * If not set, one instance per Vert.x event loop is deployed.
+     */
+    @ConfigItem
+    public OptionalInt instances;
+
+    /**
+     * The max duration to wait for all the server instances to start.
+     * The application fails to start if the server is not started after that delay.
+     */
+    @ConfigItem(defaultValue = "60s")
+    public Duration startTimeout;
+
+    /**
+     * The max duration to wait for the calls in flight to complete when the server is stopped.
+     * During that period, new calls are rejected. The calls still in flight after that delay are cancelled.
+     */
+    @ConfigItem(defaultValue = "10s")
+    public Duration shutdownTimeout;
+
     /**
      * The gRPC handshake timeout.
      */
@@ -36,6 +59,63 @@ public class GrpcServerConfiguration {
      */
     public @ConfigItem OptionalInt maxInboundMessageSize;
 
+    /**
+     * The max size, in bytes, of the metadata (headers) received from a client.
+     */
+    public @ConfigItem OptionalInt maxInboundMetadataSize;
+
+    /**
+     * The services, identified by their full name such as {@code helloworld.Greeter}, whose inbound messages are
+     * parsed with aliasing: the {@code bytes} fields reference the received message instead of being copied.
+     */
+    @ConfigItem
+    public Optional<List<String>> aliasingServices;
+
+    /**
+     * The transport config.
+     */
+    public GrpcTransportConfig transport;
+
+    /**
+     * The HTTP/2 flow control config.
+     */
+    public GrpcFlowControlConfig flowControl;
+
+    /**
+     * The connection config.
+     */
+    public GrpcConnectionConfig connection;
+
+    /**
+     * The adaptive concurrency limit config.
+     */
+    public GrpcConcurrencyLimitConfig concurrencyLimit;
+
+    /**
+     * The load shedding config.
+     */
+    public GrpcLoadSheddingConfig loadShedding;
+
+    /**
+     * The response cache config.
+     */
+    public GrpcResponseCacheConfig responseCache;
+
+    /**
+     * The streaming config.
+     */
+    public GrpcStreamingConfig streaming;
+
+    /**
+     * The compression config.
+     */
+    public GrpcCompressionConfig compression;
+
+    /**
+     * The metrics config.
+     */
+    public GrpcMetricsConfig metrics;
+
     /**
      * The SSL config.
      */
@@ -0,0 +1,26 @@
+package io.quarkus.grpc.runtime.config;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+/**
+ * Configures how the streams produced and consumed by the Mutiny services are handled.
+ */
+@ConfigGroup
+public class GrpcStreamingConfig {
+
+    /**
+     * The number of items requested upfront from the {@code Multi} returned by a service method producing a stream.
+     * New items are only requested when the transport is ready to send more data to the client.
+     */
+    @ConfigItem(defaultValue = "16")
+    public int prefetch;
+
+    /**
+     * The max number of messages sent by a client and buffered until the service consumes them, for the methods
+     * receiving a stream.
+     * Messages are only requested from the client when the service requests them.
+     */
+    @ConfigItem(defaultValue = "16")
+    public int inboundBufferSize;
+}
@@ -0,0 +1,41 @@
+package io.quarkus.grpc.runtime.config;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.quarkus.runtime.annotations.ConfigItem;
+
+import java.util.OptionalInt;
+
+/**
+ * Configures the network transport used by the gRPC server.
+ * The transport itself (NIO, epoll, kqueue) is the one of Vert.x, see {@code quarkus.vertx.prefer-native-transport}.
+ */
+@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+@ConfigGroup
+public class GrpcTransportConfig {
+
+    /**
+     * Whether {@code TCP_NODELAY} is enabled on the accepted connections.
+     */
+    @ConfigItem(defaultValue = "true")
+    public boolean tcpNoDelay;
+
+    /**
+     * Whether {@code SO_KEEPALIVE} is enabled on the accepted connections.
+     */
+    @ConfigItem(defaultValue = "false")
+    public boolean soKeepAlive;
+
+    /**
+     * The size of the socket receive buffer ({@code SO_RCVBUF}) of the accepted connections, in bytes.
+     * If not set, the operating system default is used.
+     */
+    @ConfigItem
+    public OptionalInt receiveBufferSize;
+
+    /**
+     * The size of the socket send buffer ({@code SO_SNDBUF}) of the accepted connections, in bytes.
+     * If not set, the operating system default is used.
+     */
+    @ConfigItem
+    public OptionalInt sendBufferSize;
+}
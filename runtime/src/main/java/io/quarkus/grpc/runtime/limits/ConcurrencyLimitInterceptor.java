@@ -0,0 +1,190 @@
+package io.quarkus.grpc.runtime.limits;
+
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.quarkus.grpc.runtime.config.GrpcConcurrencyLimitConfig;
+import io.quarkus.grpc.runtime.config.GrpcConcurrencyLimitOverrideConfig;
+import io.quarkus.grpc.runtime.metrics.PrometheusWriter;
+import io.quarkus.grpc.runtime.metrics.RejectionMetrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * gRPC Server interceptor applying an adaptive concurrency limit ({@link VegasLimit}) to each unary method.
+ * <p>
+ * Streaming calls are not limited: their duration depends on the peers rather than on the load of the server, so it
+ * cannot be used as latency, and a long-lived stream would hold a slot for its whole lifetime.
+ * <p>
+ * The calls beyond the limit are rejected with {@code RESOURCE_EXHAUSTED} instead of being queued. The calls
+ * completed with {@code DEADLINE_EXCEEDED}, {@code RESOURCE_EXHAUSTED} or {@code UNAVAILABLE} are considered as
+ * dropped, and shrink the limit.
+ */
+public class ConcurrencyLimitInterceptor implements ServerInterceptor {
+
+    public static final String CONCURRENCY_LIMIT = "concurrency_limit";
+
+    private final GrpcConcurrencyLimitConfig config;
+    private final ConcurrentMap<String, Optional<VegasLimit>> limits = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitInterceptor(GrpcConcurrencyLimitConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * @param config the configuration
+     * @return whether the limit is enabled for at least one service or method
+     */
+    public static boolean isEnabled(GrpcConcurrencyLimitConfig config) {
+        return config.enabled || config.overrides != null && config.overrides.values().stream()
+                .anyMatch(override -> override.enabled.orElse(false));
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+        if (call.getMethodDescriptor().getType() != MethodDescriptor.MethodType.UNARY) {
+            return next.startCall(call, headers);
+        }
+        Optional<VegasLimit> maybeLimit = limits.computeIfAbsent(call.getMethodDescriptor().getFullMethodName(),
+                this::create);
+        if (!maybeLimit.isPresent()) {
+            return next.startCall(call, headers);
+        }
+
+        VegasLimit limit = maybeLimit.get();
+        int inFlight = limit.tryAcquire();
+        if (inFlight < 0) {
+            RejectionMetrics.record(CONCURRENCY_LIMIT);
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription("Concurrency limit reached"), new Metadata());
+            return new ServerCall.Listener<ReqT>() {
+            };
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        ServerCall<ReqT, RespT> measured = new ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                if (released.compareAndSet(false, true)) {
+                    limit.release(System.nanoTime() - start, inFlight, isDropped(status));
+                }
+                super.close(status, trailers);
+            }
+        };
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                limit.release();
+            }
+        };
+
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(measured, headers);
+        } catch (RuntimeException e) {
+            release.run();
+            throw e;
+        }
+
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<ReqT>(listener) {
+            @Override
+            public void onComplete() {
+                try {
+                    super.onComplete();
+                } finally {
+                    release.run();
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                try {
+                    super.onCancel();
+                } finally {
+                    release.run();
+                }
+            }
+        };
+    }
+
+    /**
+     * @param fullMethodName the full method name
+     * @return the limit of the method, {@code null} if the method is not limited, is not unary or has not been called
+     *         yet
+     */
+    public VegasLimit getLimit(String fullMethodName) {
+        Optional<VegasLimit> limit = limits.get(fullMethodName);
+        return limit == null ? null : limit.orElse(null);
+    }
+
+    /**
+     * Writes the current limits using the Prometheus text format.
+     *
+     * @param out the output
+     */
+    public void writeTo(StringBuilder out) {
+        Map<String, VegasLimit> sorted = new TreeMap<>();
+        limits.forEach((name, limit) -> limit.ifPresent(l -> sorted.put(name, l)));
+        PrometheusWriter.header(out, "grpc_server_concurrency_limit", "gauge",
+                "Current adaptive concurrency limit of the method.");
+        sorted.forEach((name, limit) -> PrometheusWriter.sample(out, "grpc_server_concurrency_limit", labels(name),
+                limit.getLimit()));
+        PrometheusWriter.header(out, "grpc_server_concurrency_limit_in_flight", "gauge",
+                "Number of calls in flight counted by the adaptive concurrency limit of the method.");
+        sorted.forEach((name, limit) -> PrometheusWriter.sample(out, "grpc_server_concurrency_limit_in_flight",
+                labels(name), limit.getInFlight()));
+    }
+
+    /**
+     * Creates the limit of a method: the method settings take precedence over the service settings, which take
+     * precedence over the global settings.
+     */
+    Optional<VegasLimit> create(String fullMethodName) {
+        Map<String, GrpcConcurrencyLimitOverrideConfig> overrides = config.overrides == null
+                ? Collections.emptyMap()
+                : config.overrides;
+        boolean enabled = config.enabled;
+        int initialLimit = config.initialLimit;
+        int minLimit = config.minLimit;
+        int maxLimit = config.maxLimit;
+        for (GrpcConcurrencyLimitOverrideConfig override : new GrpcConcurrencyLimitOverrideConfig[] {
+                overrides.get(MethodDescriptor.extractFullServiceName(fullMethodName)),
+                overrides.get(fullMethodName) }) {
+            if (override != null) {
+                enabled = override.enabled.orElse(enabled);
+                initialLimit = override.initialLimit.orElse(initialLimit);
+                minLimit = override.minLimit.orElse(minLimit);
+                maxLimit = override.maxLimit.orElse(maxLimit);
+            }
+        }
+        return enabled ? Optional.of(new VegasLimit(initialLimit, minLimit, maxLimit)) : Optional.empty();
+    }
+
+    private static boolean isDropped(Status status) {
+        switch (status.getCode()) {
+            case DEADLINE_EXCEEDED:
+            case RESOURCE_EXHAUSTED:
+            case UNAVAILABLE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static String labels(String fullMethodName) {
+        int index = fullMethodName.lastIndexOf('/');
+        return "grpc_service=\"" + PrometheusWriter.escape(fullMethodName.substring(0, index))
+                + "\",grpc_method=\"" + PrometheusWriter.escape(fullMethodName.substring(index + 1)) + "\"";
+    }
+}
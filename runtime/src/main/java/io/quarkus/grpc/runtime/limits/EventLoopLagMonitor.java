@@ -0,0 +1,78 @@
+package io.quarkus.grpc.runtime.limits;
+
+import io.netty.util.concurrent.EventExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Measures the lag of a group of event loops.
+ * <p>
+ * A task is periodically scheduled on each event loop. The lag of a loop is the delay between the time the task
+ * was expected to run and the time it actually ran.
+ */
+public class EventLoopLagMonitor {
+
+    private final List<EventExecutor> loops = new ArrayList<>();
+    private final long interval;
+    private final AtomicLongArray lags;
+    private volatile boolean stopped;
+
+    /**
+     * @param group the event loops
+     * @param interval the sampling interval
+     */
+    public EventLoopLagMonitor(Iterable<EventExecutor> group, Duration interval) {
+        group.forEach(loops::add);
+        this.interval = interval.toNanos();
+        this.lags = new AtomicLongArray(loops.size());
+    }
+
+    public void start() {
+        for (int i = 0; i < loops.size(); i++) {
+            schedule(i);
+        }
+    }
+
+    public void stop() {
+        stopped = true;
+    }
+
+    private void schedule(int index) {
+        if (stopped) {
+            return;
+        }
+        long expected = System.nanoTime() + interval;
+        loops.get(index).schedule(() -> {
+            lags.set(index, Math.max(0, System.nanoTime() - expected));
+            schedule(index);
+        }, interval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the lag, in nanoseconds, of the event loop of the current thread, or the max lag if the current thread
+     *         is not one of the monitored event loops
+     */
+    public long getLag() {
+        for (int i = 0; i < loops.size(); i++) {
+            if (loops.get(i).inEventLoop()) {
+                return lags.get(i);
+            }
+        }
+        return getMaxLag();
+    }
+
+    /**
+     * @return the max lag, in nanoseconds, of the monitored event loops
+     */
+    public long getMaxLag() {
+        long max = 0;
+        for (int i = 0; i < lags.length(); i++) {
+            max = Math.max(max, lags.get(i));
+        }
+        return max;
+    }
+}
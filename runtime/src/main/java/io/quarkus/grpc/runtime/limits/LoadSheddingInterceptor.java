@@ -0,0 +1,66 @@
+package io.quarkus.grpc.runtime.limits;
+
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.quarkus.grpc.runtime.metrics.RejectionMetrics;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * gRPC Server interceptor rejecting the new calls while the event loop is lagging, so the calls already accepted
+ * complete in time.
+ * <p>
+ * The rejected calls are closed with {@code UNAVAILABLE} and a {@code grpc-retry-pushback-ms} trailer, telling the
+ * clients configured with a retry policy when to retry. The critical services and methods are never rejected.
+ */
+public class LoadSheddingInterceptor implements ServerInterceptor {
+
+    public static final String EVENT_LOOP_LAG = "event_loop_lag";
+
+    static final Metadata.Key<String> RETRY_PUSHBACK = Metadata.Key.of("grpc-retry-pushback-ms",
+            Metadata.ASCII_STRING_MARSHALLER);
+
+    private final EventLoopLagMonitor monitor;
+    private final long threshold;
+    private final String pushback;
+    private final Set<String> critical;
+
+    /**
+     * @param monitor the event loop lag monitor
+     * @param threshold the lag above which the new calls are rejected
+     * @param pushback the delay after which the clients may retry
+     * @param critical the names of the services and the full names of the methods never rejected
+     */
+    public LoadSheddingInterceptor(EventLoopLagMonitor monitor, Duration threshold, Duration pushback,
+            Set<String> critical) {
+        this.monitor = monitor;
+        this.threshold = threshold.toNanos();
+        this.pushback = Long.toString(pushback.toMillis());
+        this.critical = critical;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+        if (monitor.getLag() <= threshold || isCritical(call.getMethodDescriptor().getFullMethodName())) {
+            return next.startCall(call, headers);
+        }
+
+        RejectionMetrics.record(EVENT_LOOP_LAG);
+        Metadata trailers = new Metadata();
+        trailers.put(RETRY_PUSHBACK, pushback);
+        call.close(Status.UNAVAILABLE.withDescription("The server is overloaded"), trailers);
+        return new ServerCall.Listener<ReqT>() {
+        };
+    }
+
+    private boolean isCritical(String fullMethodName) {
+        return !critical.isEmpty() && (critical.contains(fullMethodName)
+                || critical.contains(MethodDescriptor.extractFullServiceName(fullMethodName)));
+    }
+}
@@ -0,0 +1,121 @@
+package io.quarkus.grpc.runtime.limits;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive concurrency limit, using the TCP Vegas congestion avoidance algorithm.
+ * <p>
+ * The latency without load is estimated as the min observed latency. The number of queued calls is estimated from
+ * the ratio between that latency and the latency of each completed call. The limit grows while the queue is small,
+ * and shrinks when it grows or when calls are dropped. The min latency is periodically reset, so shifts of the
+ * latency are detected.
+ */
+public class VegasLimit {
+
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private long minLatency = Long.MAX_VALUE;
+    private long samplesSinceProbe;
+
+    /**
+     * @param initialLimit the initial limit
+     * @param minLimit the min limit
+     * @param maxLimit the max limit
+     */
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid limits, min: " + minLimit + ", max: " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Acquires a slot for a new call.
+     *
+     * @return the number of calls in flight, including the new call, or {@code -1} if the limit is reached
+     */
+    public int tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) limit) {
+                return -1;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return current + 1;
+    }
+
+    /**
+     * Releases the slot of a completed call and updates the limit.
+     *
+     * @param latencyInNanos the latency of the call
+     * @param inFlightAtStart the number of calls in flight when the call started, as returned by {@link #tryAcquire()}
+     * @param dropped whether the call has been dropped because of an overload, such as a deadline exceeded
+     */
+    public void release(long latencyInNanos, int inFlightAtStart, boolean dropped) {
+        inFlight.decrementAndGet();
+        update(Math.max(latencyInNanos, 1), inFlightAtStart, dropped);
+    }
+
+    /**
+     * Releases the slot of a call without updating the limit, for example when the call has been cancelled.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void update(long latency, int inFlightAtStart, boolean dropped) {
+        double current = limit;
+        if (++samplesSinceProbe >= PROBE_MULTIPLIER * current) {
+            samplesSinceProbe = 0;
+            minLatency = latency;
+            return;
+        }
+        if (latency < minLatency) {
+            minLatency = latency;
+            return;
+        }
+
+        double log = Math.max(1, Math.log10(current));
+        double next;
+        if (dropped) {
+            next = current - log;
+        } else if (inFlightAtStart * 2 < current) {
+            // The application does not use the limit, no reason to change it.
+            return;
+        } else {
+            double queueSize = Math.ceil(current * (1 - (double) minLatency / latency));
+            if (queueSize <= log) {
+                next = current + 6 * log;
+            } else if (queueSize < 3 * log) {
+                next = current + log;
+            } else if (queueSize > 6 * log) {
+                next = current - log;
+            } else {
+                return;
+            }
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    /**
+     * @return the current limit
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @return the number of calls in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,113 @@
+package io.quarkus.grpc.runtime.metrics;
+
+import io.grpc.Status;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of the calls to a given gRPC method.
+ * All the recording methods are lock-free and do not allocate.
+ */
+public final class CallMetrics {
+
+    private static final Status.Code[] CODES = Status.Code.values();
+
+    private final String labels;
+    private final LongAdder started = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder[] handled = new LongAdder[CODES.length];
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder messagesReceived = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder messagesSent = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+
+    CallMetrics(String labels) {
+        this.labels = labels;
+        for (int i = 0; i < handled.length; i++) {
+            handled[i] = new LongAdder();
+        }
+    }
+
+    public void recordStart() {
+        started.increment();
+        inFlight.increment();
+    }
+
+    /**
+     * Records the completion of a call.
+     *
+     * @param code the status code of the call
+     * @param durationInNanos the duration of the call
+     */
+    public void recordCompletion(Status.Code code, long durationInNanos) {
+        inFlight.decrement();
+        handled[code.ordinal()].increment();
+        latency.record(durationInNanos);
+    }
+
+    /**
+     * @param size the serialized size of the message, in bytes, negative if unknown
+     */
+    public void recordMessageReceived(int size) {
+        messagesReceived.increment();
+        if (size > 0) {
+            bytesReceived.add(size);
+        }
+    }
+
+    /**
+     * @param size the serialized size of the message, in bytes, negative if unknown
+     */
+    public void recordMessageSent(int size) {
+        messagesSent.increment();
+        if (size > 0) {
+            bytesSent.add(size);
+        }
+    }
+
+    public long getStarted() {
+        return started.sum();
+    }
+
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    public long getHandled(Status.Code code) {
+        return handled[code.ordinal()].sum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getMessagesReceived() {
+        return messagesReceived.sum();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    public long getMessagesSent() {
+        return messagesSent.sum();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    String getLabels() {
+        return labels;
+    }
+
+    void writeHandled(StringBuilder out, String name) {
+        for (Status.Code code : CODES) {
+            long value = handled[code.ordinal()].sum();
+            if (value > 0) {
+                PrometheusWriter.sample(out, name, labels + ",grpc_code=\"" + code.name() + "\"", value);
+            }
+        }
+    }
+}
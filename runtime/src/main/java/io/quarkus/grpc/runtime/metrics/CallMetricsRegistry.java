@@ -0,0 +1,162 @@
+package io.quarkus.grpc.runtime.metrics;
+
+import io.grpc.MethodDescriptor;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the {@link CallMetrics} per gRPC method, and exports them using the Prometheus text format.
+ * <p>
+ * The number of tracked methods is bounded: once the limit is reached, the calls to the other methods are recorded
+ * under the {@code other} method, so the label cardinality stays under control.
+ */
+public final class CallMetricsRegistry {
+
+    private static final String OTHER = "other";
+
+    private final String prefix;
+    private final String target;
+    private final int maxMethods;
+    private final ConcurrentMap<String, CallMetrics> methods = new ConcurrentHashMap<>();
+    private final CallMetrics overflow;
+
+    /**
+     * @param prefix the metric name prefix, such as {@code grpc_server}
+     * @param target the target of the calls, added as {@code grpc_target} label, {@code null} to omit it
+     * @param maxMethods the max number of tracked methods
+     */
+    public CallMetricsRegistry(String prefix, String target, int maxMethods) {
+        this.prefix = prefix;
+        this.target = target;
+        this.maxMethods = maxMethods;
+        this.overflow = new CallMetrics(labels(OTHER, OTHER, "UNKNOWN"));
+    }
+
+    /**
+     * Gets the metrics of the given method. The lookup does not allocate once the method is known.
+     *
+     * @param method the method
+     * @return the metrics, shared with the other methods if the max number of methods has been reached
+     */
+    public CallMetrics get(MethodDescriptor<?, ?> method) {
+        String name = method.getFullMethodName();
+        CallMetrics metrics = methods.get(name);
+        if (metrics != null) {
+            return metrics;
+        }
+        if (methods.size() >= maxMethods) {
+            return overflow;
+        }
+        return methods.computeIfAbsent(name, k -> {
+            String service = MethodDescriptor.extractFullServiceName(k);
+            String bareName = k.substring(k.lastIndexOf('/') + 1);
+            return new CallMetrics(labels(service, bareName, method.getType().name()));
+        });
+    }
+
+    public Collection<CallMetrics> getAll() {
+        return methods.values();
+    }
+
+    private String labels(String service, String method, String type) {
+        StringBuilder labels = new StringBuilder();
+        if (target != null) {
+            labels.append("grpc_target=\"").append(PrometheusWriter.escape(target)).append("\",");
+        }
+        return labels.append("grpc_service=\"").append(PrometheusWriter.escape(service))
+                .append("\",grpc_method=\"").append(PrometheusWriter.escape(method))
+                .append("\",grpc_type=\"").append(type).append('"')
+                .toString();
+    }
+
+    /**
+     * Writes the samples of the metrics using the Prometheus text format, without the {@code HELP} and {@code TYPE}
+     * headers, so several registries sharing the same prefix can be written one after the other.
+     *
+     * @param out the output
+     * @param metric the metric to write, one of {@code started_total}, {@code in_flight}, {@code handled_total},
+     *        {@code handling_seconds}, {@code msg_received_total}, {@code msg_received_bytes_total},
+     *        {@code msg_sent_total} and {@code msg_sent_bytes_total}
+     */
+    void writeSamples(StringBuilder out, String metric) {
+        String name = prefix + "_" + metric;
+        for (CallMetrics metrics : methods.values()) {
+            writeSample(out, name, metric, metrics);
+        }
+        if (overflow.getStarted() > 0) {
+            writeSample(out, name, metric, overflow);
+        }
+    }
+
+    private static void writeSample(StringBuilder out, String name, String metric, CallMetrics metrics) {
+        switch (metric) {
+            case "started_total":
+                PrometheusWriter.sample(out, name, metrics.getLabels(), metrics.getStarted());
+                break;
+            case "in_flight":
+                PrometheusWriter.sample(out, name, metrics.getLabels(), metrics.getInFlight());
+                break;
+            case "handled_total":
+                metrics.writeHandled(out, name);
+                break;
+            case "handling_seconds":
+                metrics.getLatency().writeTo(out, name, metrics.getLabels());
+                break;
+            case "msg_received_total":
+                PrometheusWriter.sample(out, name, metrics.getLabels(), metrics.getMessagesReceived());
+                break;
+            case "msg_received_bytes_total":
+                PrometheusWriter.sample(out, name, metrics.getLabels(), metrics.getBytesReceived());
+                break;
+            case "msg_sent_total":
+                PrometheusWriter.sample(out, name, metrics.getLabels(), metrics.getMessagesSent());
+                break;
+            case "msg_sent_bytes_total":
+                PrometheusWriter.sample(out, name, metrics.getLabels(), metrics.getBytesSent());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown metric " + metric);
+        }
+    }
+
+    /**
+     * Writes the call metrics of the given registries using the Prometheus text format.
+     *
+     * @param out the output
+     * @param prefix the metric name prefix, shared by all the registries
+     * @param side the side of the calls, {@code server} or {@code client}, used in the help texts
+     * @param inFlight whether the number of calls in flight is written
+     * @param registries the registries
+     */
+    static void write(StringBuilder out, String prefix, String side, boolean inFlight,
+            Collection<CallMetricsRegistry> registries) {
+        PrometheusWriter.header(out, prefix + "_started_total", "counter",
+                "Total number of RPCs started on the " + side + ".");
+        registries.forEach(r -> r.writeSamples(out, "started_total"));
+        if (inFlight) {
+            PrometheusWriter.header(out, prefix + "_in_flight", "gauge",
+                    "Number of RPCs in flight on the " + side + ".");
+            registries.forEach(r -> r.writeSamples(out, "in_flight"));
+        }
+        PrometheusWriter.header(out, prefix + "_handled_total", "counter",
+                "Total number of RPCs completed on the " + side + ", regardless of success or failure.");
+        registries.forEach(r -> r.writeSamples(out, "handled_total"));
+        PrometheusWriter.header(out, prefix + "_handling_seconds", "histogram",
+                "Histogram of response latency (seconds) of gRPC calls on the " + side + ".");
+        registries.forEach(r -> r.writeSamples(out, "handling_seconds"));
+        PrometheusWriter.header(out, prefix + "_msg_received_total", "counter",
+                "Total number of messages received on the " + side + ".");
+        registries.forEach(r -> r.writeSamples(out, "msg_received_total"));
+        PrometheusWriter.header(out, prefix + "_msg_received_bytes_total", "counter",
+                "Total size of the messages received on the " + side + ", in bytes.");
+        registries.forEach(r -> r.writeSamples(out, "msg_received_bytes_total"));
+        PrometheusWriter.header(out, prefix + "_msg_sent_total", "counter",
+                "Total number of messages sent by the " + side + ".");
+        registries.forEach(r -> r.writeSamples(out, "msg_sent_total"));
+        PrometheusWriter.header(out, prefix + "_msg_sent_bytes_total", "counter",
+                "Total size of the messages sent by the " + side + ", in bytes.");
+        registries.forEach(r -> r.writeSamples(out, "msg_sent_bytes_total"));
+    }
+}
@@ -0,0 +1,38 @@
+package io.quarkus.grpc.runtime.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the calls whose processing has been stopped because the client cancelled them or their deadline expired.
+ */
+public final class CancellationMetrics {
+
+    private static final LongAdder CANCELLED_CALLS = new LongAdder();
+
+    private CancellationMetrics() {
+        // Avoid direct instantiation
+    }
+
+    public static void recordCancelledCall() {
+        CANCELLED_CALLS.increment();
+    }
+
+    /**
+     * @return the number of calls whose processing has been cancelled
+     */
+    public static long getCancelledCalls() {
+        return CANCELLED_CALLS.sum();
+    }
+
+    /**
+     * Writes the cancellation metrics using the Prometheus text format.
+     *
+     * @param out the output
+     */
+    public static void writeTo(StringBuilder out) {
+        PrometheusWriter.header(out, "grpc_server_cancelled_calls_total", "counter",
+                "Total number of calls whose processing has been cancelled because the client cancelled them or "
+                        + "their deadline expired.");
+        PrometheusWriter.sample(out, "grpc_server_cancelled_calls_total", null, getCancelledCalls());
+    }
+}
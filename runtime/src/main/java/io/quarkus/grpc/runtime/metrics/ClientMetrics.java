@@ -0,0 +1,56 @@
+package io.quarkus.grpc.runtime.metrics;
+
+import io.quarkus.grpc.runtime.batching.CallBatchers;
+import io.quarkus.grpc.runtime.cache.ClientResponseCaches;
+import io.quarkus.grpc.runtime.supports.PooledChannel;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the call metrics of the gRPC clients, per target.
+ */
+public final class ClientMetrics {
+
+    private static final ConcurrentMap<String, CallMetricsRegistry> REGISTRIES = new ConcurrentHashMap<>();
+
+    private ClientMetrics() {
+        // Avoid direct instantiation
+    }
+
+    /**
+     * Creates an interceptor recording the metrics of the calls to the given target.
+     * Channels using the same target share the same metrics.
+     *
+     * @param target the target, such as {@code localhost:9000}
+     * @param maxMethods the max number of tracked methods for this target
+     * @return the interceptor
+     */
+    public static ClientMetricsInterceptor createInterceptor(String target, int maxMethods) {
+        return new ClientMetricsInterceptor(
+                REGISTRIES.computeIfAbsent(target, t -> new CallMetricsRegistry("grpc_client", t, maxMethods)));
+    }
+
+    /**
+     * @param target the target
+     * @return the metrics of the calls to the given target, {@code null} if none
+     */
+    public static CallMetricsRegistry getRegistry(String target) {
+        return REGISTRIES.get(target);
+    }
+
+    /**
+     * @return the client metrics, including the response cache, batching and connection pool metrics, using the
+     *         Prometheus text format
+     */
+    public static String scrape() {
+        StringBuilder out = new StringBuilder();
+        if (!REGISTRIES.isEmpty()) {
+            CallMetricsRegistry.write(out, "grpc_client", "client", true, REGISTRIES.values());
+        }
+        ClientResponseCaches.writeTo(out);
+        CallBatchers.writeTo(out);
+        PooledChannel.writeTo(out);
+        return out.toString();
+    }
+}
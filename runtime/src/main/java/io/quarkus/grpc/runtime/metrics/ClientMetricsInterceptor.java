@@ -0,0 +1,67 @@
+package io.quarkus.grpc.runtime.metrics;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.quarkus.grpc.runtime.supports.MessageSizes;
+
+/**
+ * gRPC Client interceptor recording, per method, the number of calls, the calls in flight, their status codes and
+ * latency, and the number and size of the exchanged messages.
+ * <p>
+ * Instances are created using {@link ClientMetrics#createInterceptor(String, int)}.
+ */
+public class ClientMetricsInterceptor implements ClientInterceptor {
+
+    private final CallMetricsRegistry registry;
+
+    ClientMetricsInterceptor(CallMetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+            CallOptions callOptions, Channel next) {
+        CallMetrics metrics = registry.get(method);
+        return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(next.newCall(method, callOptions)) {
+
+            private long start;
+
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                start = System.nanoTime();
+                metrics.recordStart();
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(
+                        responseListener) {
+                    @Override
+                    public void onMessage(RespT message) {
+                        metrics.recordMessageReceived(MessageSizes.sizeOf(message));
+                        super.onMessage(message);
+                    }
+
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        metrics.recordCompletion(status.getCode(), System.nanoTime() - start);
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+
+            @Override
+            public void sendMessage(ReqT message) {
+                metrics.recordMessageSent(MessageSizes.sizeOf(message));
+                super.sendMessage(message);
+            }
+        };
+    }
+
+    public CallMetricsRegistry getRegistry() {
+        return registry;
+    }
+}
@@ -0,0 +1,88 @@
+package io.quarkus.grpc.runtime.metrics;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with fixed, exponentially growing buckets.
+ * <p>
+ * Each bucket is a {@link LongAdder}, so concurrent recordings do not contend and recording does not allocate.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The upper bounds of the buckets, in seconds.
+     */
+    private static final double[] BOUNDS_SECONDS = {
+            0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60
+    };
+
+    private static final long[] BOUNDS_NANOS = Arrays.stream(BOUNDS_SECONDS)
+            .mapToLong(s -> (long) (s * TimeUnit.SECONDS.toNanos(1)))
+            .toArray();
+
+    private static final String[] BOUNDS_LABELS = Arrays.stream(BOUNDS_SECONDS)
+            .mapToObj(s -> BigDecimal.valueOf(s).toPlainString())
+            .toArray(String[]::new);
+
+    private final LongAdder[] buckets;
+    private final LongAdder sum = new LongAdder();
+
+    public LatencyHistogram() {
+        // The last bucket holds the values greater than the last bound.
+        buckets = new LongAdder[BOUNDS_NANOS.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param nanos the value in nanoseconds
+     */
+    public void record(long nanos) {
+        int index = Arrays.binarySearch(BOUNDS_NANOS, nanos);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        buckets[index].increment();
+        sum.add(nanos);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * @return the sum of the recorded values, in nanoseconds
+     */
+    public long getSumNanos() {
+        return sum.sum();
+    }
+
+    /**
+     * Writes the histogram using the Prometheus text format.
+     *
+     * @param out the output
+     * @param name the metric name, without the {@code _bucket}, {@code _sum} and {@code _count} suffixes
+     * @param labels the labels, formatted as {@code a="x",b="y"}
+     */
+    void writeTo(StringBuilder out, String name, String labels) {
+        long cumulative = 0;
+        for (int i = 0; i < BOUNDS_SECONDS.length; i++) {
+            cumulative += buckets[i].sum();
+            PrometheusWriter.sample(out, name + "_bucket", labels + ",le=\"" + BOUNDS_LABELS[i] + "\"", cumulative);
+        }
+        cumulative += buckets[BOUNDS_SECONDS.length].sum();
+        PrometheusWriter.sample(out, name + "_bucket", labels + ",le=\"+Inf\"", cumulative);
+        PrometheusWriter.sample(out, name + "_sum", labels, (double) sum.sum() / TimeUnit.SECONDS.toNanos(1));
+        PrometheusWriter.sample(out, name + "_count", labels, cumulative);
+    }
+}
@@ -0,0 +1,36 @@
+package io.quarkus.grpc.runtime.metrics;
+
+/**
+ * Helpers to write metrics using the Prometheus text exposition format.
+ */
+public final class PrometheusWriter {
+
+    private PrometheusWriter() {
+        // Avoid direct instantiation
+    }
+
+    public static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    public static void sample(StringBuilder out, String name, String labels, long value) {
+        appendName(out, name, labels).append(value).append('\n');
+    }
+
+    public static void sample(StringBuilder out, String name, String labels, double value) {
+        appendName(out, name, labels).append(value).append('\n');
+    }
+
+    public static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static StringBuilder appendName(StringBuilder out, String name, String labels) {
+        out.append(name);
+        if (labels != null && !labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        return out.append(' ');
+    }
+}
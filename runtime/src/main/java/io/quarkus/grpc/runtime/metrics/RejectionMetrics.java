@@ -0,0 +1,51 @@
+package io.quarkus.grpc.runtime.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the calls rejected by the server before reaching the services, per reason.
+ */
+public final class RejectionMetrics {
+
+    private static final ConcurrentMap<String, LongAdder> REJECTIONS = new ConcurrentHashMap<>();
+
+    private RejectionMetrics() {
+        // Avoid direct instantiation
+    }
+
+    /**
+     * Records a rejected call.
+     *
+     * @param reason the reason, such as {@code max_connections}
+     */
+    public static void record(String reason) {
+        REJECTIONS.computeIfAbsent(reason, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * @param reason the reason
+     * @return the number of calls rejected for the given reason
+     */
+    public static long getRejectedCalls(String reason) {
+        LongAdder adder = REJECTIONS.get(reason);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Writes the rejection metrics using the Prometheus text format.
+     *
+     * @param out the output
+     */
+    public static void writeTo(StringBuilder out) {
+        PrometheusWriter.header(out, "grpc_server_rejected_calls_total", "counter",
+                "Total number of calls rejected before reaching the services.");
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(REJECTIONS).entrySet()) {
+            PrometheusWriter.sample(out, "grpc_server_rejected_calls_total",
+                    "reason=\"" + PrometheusWriter.escape(entry.getKey()) + "\"", entry.getValue().sum());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.quarkus.grpc.runtime.metrics;
+
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.quarkus.grpc.runtime.supports.MessageSizes;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * gRPC Server interceptor recording, per method, the number of calls, their status codes and latency, and the
+ * number and size of the exchanged messages.
+ */
+public class ServerMetricsInterceptor implements ServerInterceptor {
+
+    private final CallMetricsRegistry registry;
+
+    /**
+     * @param maxMethods the max number of tracked methods
+     */
+    public ServerMetricsInterceptor(int maxMethods) {
+        this.registry = new CallMetricsRegistry("grpc_server", null, maxMethods);
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+            ServerCallHandler<ReqT, RespT> next) {
+        CallMetrics metrics = registry.get(call.getMethodDescriptor());
+        metrics.recordStart();
+        MonitoringServerCall<ReqT, RespT> monitored = new MonitoringServerCall<>(call, metrics);
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(monitored, headers);
+        } catch (RuntimeException e) {
+            monitored.complete(Status.Code.UNKNOWN);
+            throw e;
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<ReqT>(listener) {
+            @Override
+            public void onMessage(ReqT message) {
+                metrics.recordMessageReceived(MessageSizes.sizeOf(message));
+                super.onMessage(message);
+            }
+
+            @Override
+            public void onCancel() {
+                monitored.complete(Status.Code.CANCELLED);
+                super.onCancel();
+            }
+        };
+    }
+
+    public CallMetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Writes the metrics using the Prometheus text format.
+     *
+     * @param out the output
+     */
+    public void writeTo(StringBuilder out) {
+        CallMetricsRegistry.write(out, "grpc_server", "server", true, Collections.singletonList(registry));
+    }
+
+    private static class MonitoringServerCall<ReqT, RespT>
+            extends ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT> {
+
+        private final CallMetrics metrics;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        MonitoringServerCall(ServerCall<ReqT, RespT> delegate, CallMetrics metrics) {
+            super(delegate);
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void sendMessage(RespT message) {
+            metrics.recordMessageSent(MessageSizes.sizeOf(message));
+            super.sendMessage(message);
+        }
+
+        @Override
+        public void close(Status status, Metadata trailers) {
+            complete(status.getCode());
+            super.close(status, trailers);
+        }
+
+        void complete(Status.Code code) {
+            if (completed.compareAndSet(false, true)) {
+                metrics.recordCompletion(code, System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.quarkus.grpc.runtime.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects flow-control related metrics for the streams handled by the Mutiny services.
+ */
+public final class StreamingMetrics {
+
+    private static final LongAdder OUTBOUND_STALLS = new LongAdder();
+    private static final LongAdder OUTBOUND_STALL_TIME = new LongAdder();
+    private static final LongAdder INBOUND_BUFFERED = new LongAdder();
+
+    private StreamingMetrics() {
+        // Avoid direct instantiation
+    }
+
+    /**
+     * Records that an outbound stream has been paused because the transport was not ready.
+     *
+     * @param durationInNanos the time spent waiting for the transport to be ready again
+     */
+    public static void recordOutboundStall(long durationInNanos) {
+        OUTBOUND_STALLS.increment();
+        OUTBOUND_STALL_TIME.add(durationInNanos);
+    }
+
+    /**
+     * @return the number of times an outbound stream has been paused
+     */
+    public static long getOutboundStallCount() {
+        return OUTBOUND_STALLS.sum();
+    }
+
+    /**
+     * @return the total time, in nanoseconds, spent by outbound streams waiting for the transport
+     */
+    public static long getOutboundStallTimeNanos() {
+        return OUTBOUND_STALL_TIME.sum();
+    }
+
+    public static void incrementInboundBuffered() {
+        INBOUND_BUFFERED.increment();
+    }
+
+    public static void decrementInboundBuffered(int count) {
+        INBOUND_BUFFERED.add(-count);
+    }
+
+    /**
+     * @return the number of inbound messages received from the clients and not yet consumed by the services
+     */
+    public static long getInboundBufferedMessages() {
+        return INBOUND_BUFFERED.sum();
+    }
+
+    /**
+     * Writes the streaming metrics using the Prometheus text format.
+     *
+     * @param out the output
+     */
+    public static void writeTo(StringBuilder out) {
+        PrometheusWriter.header(out, "grpc_server_stream_stalls_total", "counter",
+                "Total number of times an outbound stream waited for the transport to be ready.");
+        PrometheusWriter.sample(out, "grpc_server_stream_stalls_total", null, getOutboundStallCount());
+        PrometheusWriter.header(out, "grpc_server_stream_stall_seconds_total", "counter",
+                "Total time spent by outbound streams waiting for the transport to be ready.");
+        PrometheusWriter.sample(out, "grpc_server_stream_stall_seconds_total", null,
+                getOutboundStallTimeNanos() / 1_000_000_000.0);
+        PrometheusWriter.header(out, "grpc_server_inbound_buffered_messages", "gauge",
+                "Number of inbound messages received and not yet consumed by the services.");
+        PrometheusWriter.sample(out, "grpc_server_inbound_buffered_messages", null, getInboundBufferedMessages());
+    }
+}
@@ -0,0 +1,197 @@
+package io.quarkus.grpc.runtime.resolver;
+
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.NameResolver;
+import io.grpc.Status;
+import io.vertx.core.Vertx;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Name resolver returning a list of endpoints, either configured statically or read from a file.
+ * <p>
+ * Each endpoint ({@code host} or {@code host:port}) is resolved to its own address group, so the load balancer can
+ * spread the calls over the endpoints. The file contains one endpoint per line, empty lines and lines starting with
+ * {@code #} are ignored. The file is checked periodically and the endpoints are resolved again when it is modified.
+ * The resolution runs on a Vert.x worker thread.
+ */
+public final class EndpointsNameResolver extends NameResolver {
+
+    private static final Logger LOGGER = Logger.getLogger(EndpointsNameResolver.class.getName());
+
+    private final Vertx vertx;
+    private final String authority;
+    private final List<String> endpoints;
+    private final Path file;
+    private final Duration refreshInterval;
+    private final int defaultPort;
+
+    private final AtomicBoolean resolving = new AtomicBoolean();
+    private volatile boolean shutdown;
+    private volatile long lastModified = -1;
+    private Listener2 listener;
+    private long timer = -1;
+
+    EndpointsNameResolver(Vertx vertx, String authority, List<String> endpoints, Path file,
+            Duration refreshInterval, int defaultPort) {
+        this.vertx = vertx;
+        this.authority = authority;
+        this.endpoints = endpoints;
+        this.file = file;
+        this.refreshInterval = refreshInterval;
+        this.defaultPort = defaultPort;
+    }
+
+    @Override
+    public String getServiceAuthority() {
+        return authority;
+    }
+
+    @Override
+    public void start(Listener2 listener) {
+        this.listener = listener;
+        resolve(false);
+        if (file != null) {
+            timer = vertx.setPeriodic(refreshInterval.toMillis(), id -> resolve(true));
+        }
+    }
+
+    @Override
+    public void refresh() {
+        resolve(false);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        if (timer != -1) {
+            vertx.cancelTimer(timer);
+        }
+    }
+
+    private void resolve(boolean onlyIfModified) {
+        if (shutdown || !resolving.compareAndSet(false, true)) {
+            return;
+        }
+        vertx.<List<EquivalentAddressGroup>> executeBlocking(promise -> {
+            try {
+                if (onlyIfModified && !isModified()) {
+                    promise.complete(null);
+                } else {
+                    promise.complete(resolveAll(readEndpoints()));
+                }
+            } catch (IOException e) {
+                promise.fail(e);
+            }
+        }, false, ar -> {
+            resolving.set(false);
+            if (shutdown) {
+                return;
+            }
+            if (ar.failed()) {
+                listener.onError(Status.UNAVAILABLE
+                        .withDescription("Unable to read the endpoints of " + authority + " from " + file)
+                        .withCause(ar.cause()));
+            } else if (ar.result() != null) {
+                if (ar.result().isEmpty()) {
+                    listener.onError(Status.UNAVAILABLE.withDescription("No endpoint resolved for " + authority));
+                } else {
+                    listener.onResult(ResolutionResult.newBuilder().setAddresses(ar.result()).build());
+                }
+            }
+        });
+    }
+
+    private boolean isModified() throws IOException {
+        // A missing file is reported by the resolutions requested by the channel.
+        return Files.exists(file) && Files.getLastModifiedTime(file).toMillis() != lastModified;
+    }
+
+    private List<String> readEndpoints() throws IOException {
+        if (file == null) {
+            return endpoints;
+        }
+        lastModified = Files.getLastModifiedTime(file).toMillis();
+        return readEndpoints(file);
+    }
+
+    private List<EquivalentAddressGroup> resolveAll(List<String> endpoints) {
+        List<EquivalentAddressGroup> groups = new ArrayList<>(endpoints.size());
+        for (String endpoint : endpoints) {
+            InetSocketAddress unresolved = parse(endpoint, defaultPort);
+            try {
+                List<SocketAddress> addresses = new ArrayList<>();
+                for (InetAddress address : InetAddress.getAllByName(unresolved.getHostString())) {
+                    addresses.add(new InetSocketAddress(address, unresolved.getPort()));
+                }
+                groups.add(new EquivalentAddressGroup(addresses));
+            } catch (UnknownHostException e) {
+                LOGGER.warnf("Unable to resolve the endpoint %s of %s, ignoring it", endpoint, authority);
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * @param file the file
+     * @return the endpoints listed in the file
+     * @throws IOException if the file cannot be read
+     */
+    static List<String> readEndpoints(Path file) throws IOException {
+        List<String> endpoints = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            String endpoint = line.trim();
+            if (!endpoint.isEmpty() && !endpoint.startsWith("#")) {
+                endpoints.add(endpoint);
+            }
+        }
+        return endpoints;
+    }
+
+    /**
+     * Parses an endpoint: {@code host}, {@code host:port}, {@code [ipv6]} or {@code [ipv6]:port}.
+     *
+     * @param endpoint the endpoint
+     * @param defaultPort the port used when the endpoint does not have one
+     * @return the unresolved address of the endpoint
+     */
+    static InetSocketAddress parse(String endpoint, int defaultPort) {
+        String host = endpoint;
+        String port = null;
+        if (endpoint.startsWith("[")) {
+            int end = endpoint.indexOf(']');
+            if (end == -1) {
+                throw new IllegalArgumentException("Invalid endpoint " + endpoint);
+            }
+            host = endpoint.substring(1, end);
+            if (end + 1 < endpoint.length()) {
+                if (endpoint.charAt(end + 1) != ':') {
+                    throw new IllegalArgumentException("Invalid endpoint " + endpoint);
+                }
+                port = endpoint.substring(end + 2);
+            }
+        } else {
+            int colon = endpoint.lastIndexOf(':');
+            if (colon != -1 && colon == endpoint.indexOf(':')) {
+                host = endpoint.substring(0, colon);
+                port = endpoint.substring(colon + 1);
+            }
+        }
+        try {
+            return InetSocketAddress.createUnresolved(host, port == null ? defaultPort : Integer.parseInt(port));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid port in endpoint " + endpoint, e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.quarkus.grpc.runtime.resolver;
+
+import io.grpc.NameResolver;
+import io.vertx.core.Vertx;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Creates the {@link EndpointsNameResolver} of a client channel, whose target is {@code endpoints:///$NAME}.
+ * <p>
+ * The authority of the resolved service is the first endpoint. It is sent as {@code :authority} to all the endpoints,
+ * and used to verify the certificates of all the endpoints, unless the channel overrides it.
+ */
+public final class EndpointsNameResolverFactory extends NameResolver.Factory {
+
+    static final String SCHEME = "endpoints";
+
+    private final Vertx vertx;
+    private final String authority;
+    private final List<String> endpoints;
+    private final Path file;
+    private final Duration refreshInterval;
+    private final int defaultPort;
+
+    private EndpointsNameResolverFactory(Vertx vertx, String authority, List<String> endpoints, Path file,
+            Duration refreshInterval, int defaultPort) {
+        this.vertx = vertx;
+        this.authority = authority;
+        this.endpoints = endpoints;
+        this.file = file;
+        this.refreshInterval = refreshInterval;
+        this.defaultPort = defaultPort;
+    }
+
+    /**
+     * @param vertx the Vert.x instance, whose workers resolve the endpoints
+     * @param endpoints the endpoints
+     * @param defaultPort the port of the endpoints without port
+     * @return the factory of the resolvers returning the given endpoints
+     */
+    public static EndpointsNameResolverFactory forEndpoints(Vertx vertx, List<String> endpoints, int defaultPort) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("At least one endpoint is required");
+        }
+        // Validates the endpoints eagerly, so the misconfiguration is reported when the channel is created.
+        endpoints.forEach(endpoint -> EndpointsNameResolver.parse(endpoint, defaultPort));
+        return new EndpointsNameResolverFactory(vertx, endpoints.get(0), Collections.unmodifiableList(endpoints), null,
+                null, defaultPort);
+    }
+
+    /**
+     * @param vertx the Vert.x instance, whose timers check the file
+     * @param client the name of the client, used as authority if the file does not list any endpoint yet
+     * @param file the file listing the endpoints
+     * @param refreshInterval the interval between the checks of the file
+     * @param defaultPort the port of the endpoints without port
+     * @return the factory of the resolvers returning the endpoints listed in the file
+     */
+    public static EndpointsNameResolverFactory forFile(Vertx vertx, String client, Path file,
+            Duration refreshInterval, int defaultPort) {
+        String authority = client;
+        try {
+            List<String> endpoints = EndpointsNameResolver.readEndpoints(file);
+            if (!endpoints.isEmpty()) {
+                authority = endpoints.get(0);
+            }
+        } catch (IOException e) {
+            // The resolver reports the error, and retries.
+        }
+        return new EndpointsNameResolverFactory(vertx, authority, null, file, refreshInterval, defaultPort);
+    }
+
+    /**
+     * @param client the name of the client
+     * @return the target of the channel of the client
+     */
+    public static String target(String client) {
+        return SCHEME + ":///" + client;
+    }
+
+    @Override
+    public NameResolver newNameResolver(URI targetUri, NameResolver.Args args) {
+        if (!SCHEME.equals(targetUri.getScheme())) {
+            return null;
+        }
+        return new EndpointsNameResolver(vertx, authority, endpoints, file, refreshInterval, defaultPort);
+    }
+
+    @Override
+    public String getDefaultScheme() {
+        return SCHEME;
+    }
+}
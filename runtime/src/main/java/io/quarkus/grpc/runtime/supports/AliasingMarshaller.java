@@ -0,0 +1,143 @@
+package io.quarkus.grpc.runtime.supports;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import com.google.protobuf.UnsafeByteOperations;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.ServiceDescriptor;
+import io.grpc.Status;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Protobuf marshaller parsing the inbound messages with aliasing: the {@code bytes} fields of the parsed message
+ * reference the received bytes instead of being copied.
+ * <p>
+ * Each message is read once into its own array, which is only referenced by the parsed message. So, the aliased
+ * fields stay valid as long as the message is used, including after the completion of the call. The transport
+ * buffers are never aliased.
+ *
+ * @param <T> the message type
+ */
+public class AliasingMarshaller<T extends MessageLite> implements MethodDescriptor.PrototypeMarshaller<T> {
+
+    private final MethodDescriptor.PrototypeMarshaller<T> delegate;
+    private final Parser<T> parser;
+
+    @SuppressWarnings("unchecked")
+    AliasingMarshaller(MethodDescriptor.PrototypeMarshaller<T> delegate) {
+        this.delegate = delegate;
+        this.parser = (Parser<T>) delegate.getMessagePrototype().getParserForType();
+    }
+
+    /**
+     * Replaces the request marshallers of a service with aliasing marshallers.
+     * Methods not using protobuf messages are kept unchanged.
+     *
+     * @param definition the service definition
+     * @return the new service definition
+     */
+    public static ServerServiceDefinition withAliasing(ServerServiceDefinition definition) {
+        ServiceDescriptor descriptor = definition.getServiceDescriptor();
+        ServiceDescriptor.Builder descriptorBuilder = ServiceDescriptor.newBuilder(descriptor.getName())
+                .setSchemaDescriptor(descriptor.getSchemaDescriptor());
+        List<ServerMethodDefinition<?, ?>> methods = new ArrayList<>();
+        for (ServerMethodDefinition<?, ?> method : definition.getMethods()) {
+            ServerMethodDefinition<?, ?> aliased = withAliasing(method);
+            methods.add(aliased);
+            descriptorBuilder.addMethod(aliased.getMethodDescriptor());
+        }
+
+        ServerServiceDefinition.Builder builder = ServerServiceDefinition.builder(descriptorBuilder.build());
+        methods.forEach(builder::addMethod);
+        return builder.build();
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static <ReqT, RespT> ServerMethodDefinition<ReqT, RespT> withAliasing(
+            ServerMethodDefinition<ReqT, RespT> method) {
+        MethodDescriptor<ReqT, RespT> descriptor = method.getMethodDescriptor();
+        MethodDescriptor.Marshaller<ReqT> marshaller = descriptor.getRequestMarshaller();
+        if (!(marshaller instanceof MethodDescriptor.PrototypeMarshaller)
+                || !(((MethodDescriptor.PrototypeMarshaller<ReqT>) marshaller).getMessagePrototype()
+                        instanceof MessageLite)) {
+            return method;
+        }
+        MethodDescriptor.Marshaller<ReqT> aliasing = new AliasingMarshaller(
+                (MethodDescriptor.PrototypeMarshaller) marshaller);
+        return ServerMethodDefinition.create(
+                descriptor.toBuilder(aliasing, descriptor.getResponseMarshaller()).build(),
+                method.getServerCallHandler());
+    }
+
+    @Override
+    public T getMessagePrototype() {
+        return delegate.getMessagePrototype();
+    }
+
+    @Override
+    public Class<T> getMessageClass() {
+        return delegate.getMessageClass();
+    }
+
+    @Override
+    public InputStream stream(T value) {
+        return delegate.stream(value);
+    }
+
+    @Override
+    public T parse(InputStream stream) {
+        try {
+            byte[] bytes = readFully(stream);
+            if (bytes.length == 0) {
+                return getMessagePrototype();
+            }
+            // Wrapping the array makes the input immutable, which is required by protobuf to alias it.
+            CodedInputStream input = UnsafeByteOperations.unsafeWrap(bytes).newCodedInput();
+            input.enableAliasing(true);
+            // The message size is already bounded by the transport.
+            input.setSizeLimit(Integer.MAX_VALUE);
+            return parser.parseFrom(input);
+        } catch (InvalidProtocolBufferException e) {
+            throw Status.INTERNAL.withDescription("Invalid protobuf byte sequence").withCause(e).asRuntimeException();
+        } catch (IOException e) {
+            throw Status.INTERNAL.withDescription("Unable to read the message").withCause(e).asRuntimeException();
+        }
+    }
+
+    private static byte[] readFully(InputStream stream) throws IOException {
+        if (stream instanceof KnownLength) {
+            int size = stream.available();
+            byte[] bytes = new byte[size];
+            int read = 0;
+            while (read < size) {
+                int count = stream.read(bytes, read, size - read);
+                if (count == -1) {
+                    throw new IOException("Unexpected end of stream, " + read + " of " + size + " bytes read");
+                }
+                read += count;
+            }
+            if (stream.read() != -1) {
+                throw new IOException("The stream is longer than its announced size " + size);
+            }
+            return bytes;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int count;
+        while ((count = stream.read(buffer)) != -1) {
+            out.write(buffer, 0, count);
+        }
+        return out.toByteArray();
+    }
+}
@@ -2,15 +2,33 @@ package io.quarkus.grpc.runtime.supports;
 
 import io.grpc.Channel;
 import io.grpc.ClientInterceptor;
+import io.grpc.Codec;
+import io.grpc.CompressorRegistry;
+import io.grpc.DecompressorRegistry;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
 import io.grpc.ServerInterceptor;
 import io.grpc.netty.GrpcSslContexts;
 import io.grpc.netty.NettyChannelBuilder;
+import io.netty.channel.EventLoopGroup;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.quarkus.arc.Arc;
 import io.quarkus.arc.InstanceHandle;
 import io.quarkus.grpc.runtime.annotations.GrpcService;
 import io.quarkus.grpc.runtime.annotations.GrpcServiceLiteral;
+import io.quarkus.grpc.runtime.batching.BatchingChannel;
+import io.quarkus.grpc.runtime.batching.CallBatchers;
+import io.quarkus.grpc.runtime.cache.CachingChannel;
+import io.quarkus.grpc.runtime.cache.ClientResponseCache;
+import io.quarkus.grpc.runtime.cache.ClientResponseCaches;
+import io.quarkus.grpc.runtime.compression.Codecs;
+import io.quarkus.grpc.runtime.compression.CompressionClientInterceptor;
+import io.quarkus.grpc.runtime.compression.CompressionPolicy;
+import io.quarkus.grpc.runtime.metrics.ClientMetrics;
+import io.quarkus.grpc.runtime.resolver.EndpointsNameResolverFactory;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.VertxInternal;
 import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.config.ConfigProvider;
 
@@ -18,8 +36,13 @@ import javax.enterprise.inject.Instance;
 import javax.enterprise.inject.spi.Prioritized;
 import javax.net.ssl.SSLException;
 import java.io.File;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class Channels {
@@ -30,8 +53,10 @@ public class Channels {
 
     public static Channel createChannel(String prefix) throws SSLException {
         Config config = ConfigProvider.getConfig();
-        String host = getMandatoryProperty(config, prefix, "host", String.class);
+        String client = prefix.endsWith(".") ? prefix.substring(0, prefix.length() - 1) : prefix;
         int port = getOptionalProperty(config, prefix, "port", Integer.class,9000);
+        String[] hosts = getOptionalProperty(config, prefix, "hosts", String[].class, null);
+        String hostsFile = getOptionalProperty(config, prefix, "hosts-file", String.class, null);
         boolean defaultPlainText = getOptionalProperty(config, prefix,"ssl.trust-store", String.class, null) == null;
         boolean plainText = getOptionalProperty(config, prefix, "plain-text", Boolean.class, defaultPlainText);
 
@@ -52,19 +77,152 @@ public class Channels {
             context = sslContextBuilder.build();
         }
 
-        NettyChannelBuilder builder = NettyChannelBuilder.forAddress(host, port);
-        if (plainText) {
-            builder.usePlaintext();
+        Vertx vertx = Arc.container().instance(Vertx.class).get();
+        EndpointsNameResolverFactory resolver;
+        String host;
+        String target;
+        if (hostsFile != null || hosts != null) {
+            if (hostsFile != null) {
+                Duration refreshInterval = getOptionalProperty(config, prefix, "hosts-file-refresh-interval",
+                        Duration.class, Duration.ofSeconds(5));
+                resolver = EndpointsNameResolverFactory.forFile(vertx, client, Paths.get(hostsFile), refreshInterval,
+                        port);
+                target = hostsFile;
+            } else {
+                resolver = EndpointsNameResolverFactory.forEndpoints(vertx, Arrays.asList(hosts), port);
+                target = String.join(",", hosts);
+            }
+            host = null;
+        } else {
+            resolver = null;
+            host = getMandatoryProperty(config, prefix, "host", String.class);
+            target = host + ":" + port;
+        }
+        String policy = getOptionalProperty(config, prefix, "load-balancing-policy", String.class,
+                resolver != null ? "round_robin" : null);
+        String authority = getOptionalProperty(config, prefix, "authority", String.class, null);
+        SslContext sslContext = context;
+
+        Integer maxInboundMetadataSize = getOptionalProperty(config, prefix, "max-inbound-metadata-size",
+                Integer.class, null);
+        Integer window = getOptionalProperty(config, prefix, "flow-control.window", Integer.class, null);
+        boolean autoTuning = getOptionalProperty(config, prefix, "flow-control.auto-tuning", Boolean.class, false);
+
+        List<Codec> codecs = Arc.container().beanManager().createInstance().select(Codec.class).stream()
+                .collect(Collectors.toList());
+        CompressorRegistry compressors = Codecs.createCompressorRegistry(codecs);
+        DecompressorRegistry decompressors = Codecs.createDecompressorRegistry(codecs);
+
+        List<ClientInterceptor> interceptors = new ArrayList<>();
+        // Registered first, so it is invoked last and measures the actual calls.
+        boolean metrics = getOptionalProperty(config, prefix, "metrics.enabled", Boolean.class, false);
+        if (metrics) {
+            int maxMethods = getOptionalProperty(config, prefix, "metrics.max-methods", Integer.class, 500);
+            interceptors.add(ClientMetrics.createInterceptor(target, maxMethods));
         }
-        if (context != null) {
-            builder.sslContext(context);
+
+        if (getOptionalProperty(config, prefix, "compression.algorithm", String.class, null) != null
+                || hasMethodProperty(config, prefix, "compression", "algorithm")) {
+            validateCompressionAlgorithms(config, prefix, compressors);
+            interceptors.add(new CompressionClientInterceptor(method -> getCompressionPolicy(config, prefix, method),
+                    compressors));
         }
 
         // Client-side interceptors
-        Instance<ClientInterceptor> interceptors = Arc.container().beanManager().createInstance().select(ClientInterceptor.class);
-        getSortedInterceptors(interceptors).forEach(builder::intercept);
+        Instance<ClientInterceptor> clientInterceptors = Arc.container().beanManager().createInstance()
+                .select(ClientInterceptor.class);
+        interceptors.addAll(getSortedInterceptors(clientInterceptors));
 
-        return builder.build();
+        // Uses the event loops of Vert.x instead of starting other Netty threads.
+        EventLoopGroup eventLoops = ((VertxInternal) vertx).getEventLoopGroup();
+        Class<? extends io.netty.channel.Channel> channelType = ((VertxInternal) vertx).transport()
+                .channelType(false);
+        // Each channel is built with its own builder, so the channels can use different event loops.
+        Function<EventLoopGroup, ManagedChannel> factory = group -> {
+            NettyChannelBuilder builder;
+            if (resolver != null) {
+                builder = NettyChannelBuilder.forTarget(EndpointsNameResolverFactory.target(client))
+                        .nameResolverFactory(resolver);
+            } else {
+                builder = NettyChannelBuilder.forAddress(host, port);
+            }
+            if (policy != null) {
+                builder.defaultLoadBalancingPolicy(policy);
+            }
+            if (authority != null) {
+                builder.overrideAuthority(authority);
+            }
+            builder.eventLoopGroup(group)
+                    .channelType(channelType);
+            if (plainText) {
+                builder.usePlaintext();
+            }
+            if (sslContext != null) {
+                builder.sslContext(sslContext);
+            }
+            if (maxInboundMetadataSize != null) {
+                builder.maxInboundMetadataSize(maxInboundMetadataSize);
+            }
+            if (autoTuning) {
+                builder.initialFlowControlWindow(
+                        window != null ? window : NettyChannelBuilder.DEFAULT_FLOW_CONTROL_WINDOW);
+            } else if (window != null) {
+                builder.flowControlWindow(window);
+            }
+            builder.compressorRegistry(compressors);
+            builder.decompressorRegistry(decompressors);
+            builder.intercept(interceptors);
+            return builder.build();
+        };
+
+        Channel channel;
+        int poolSize = getOptionalProperty(config, prefix, "pool-size", Integer.class, 1);
+        if (poolSize > 1) {
+            // Each built channel opens its own HTTP/2 connection.
+            List<ManagedChannel> channels = new ArrayList<>(poolSize);
+            for (int i = 0; i < poolSize; i++) {
+                channels.add(factory.apply(eventLoops));
+            }
+            channel = PooledChannel.create(client, channels);
+        } else if (getOptionalProperty(config, prefix, "event-loop-affinity", Boolean.class, false)) {
+            channel = new EventLoopChannel(eventLoops, factory);
+        } else {
+            channel = factory.apply(eventLoops);
+        }
+        Duration batchingWindow = getOptionalProperty(config, prefix, "batching.window", Duration.class, null);
+        if (batchingWindow != null) {
+            int maxBatchSize = getOptionalProperty(config, prefix, "batching.max-batch-size", Integer.class, 64);
+            channel = new BatchingChannel(channel, CallBatchers.create(client, vertx, batchingWindow, maxBatchSize));
+        }
+        if (getOptionalProperty(config, prefix, "cache.ttl", Duration.class, null) != null
+                || hasMethodProperty(config, prefix, "cache", "ttl")) {
+            // Wraps the batching channel, so the cached calls are not delayed.
+            channel = new CachingChannel(channel, method -> createResponseCache(config, prefix, client, method));
+        }
+        return channel;
+    }
+
+    /**
+     * Invoked when the bean of a channel created by {@link #createChannel(String)} is destroyed.
+     */
+    public static void closeChannel(String prefix, Channel channel) {
+        String client = prefix.endsWith(".") ? prefix.substring(0, prefix.length() - 1) : prefix;
+        Channel current = channel;
+        if (current instanceof CachingChannel) {
+            ClientResponseCaches.remove(client);
+            current = ((CachingChannel) current).getDelegate();
+        }
+        if (current instanceof BatchingChannel) {
+            CallBatchers.remove(BatchingChannel.getBatcher(current));
+            current = ((BatchingChannel) current).getDelegate();
+        }
+        if (current instanceof PooledChannel) {
+            ((PooledChannel) current).shutdown();
+        } else if (current instanceof EventLoopChannel) {
+            ((EventLoopChannel) current).shutdown();
+        } else if (current instanceof ManagedChannel) {
+            ((ManagedChannel) current).shutdown();
+        }
     }
 
     public static Channel retrieveChannel(String name) {
@@ -75,6 +233,68 @@ public class Channels {
         return instance.get();
     }
 
+    private static boolean hasMethodProperty(Config config, String prefix, String group, String attr) {
+        String methods = prefix + group + ".methods.";
+        for (String name : config.getPropertyNames()) {
+            if (name.startsWith(methods) && name.endsWith("." + attr)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the algorithms configured for the client and its methods on startup.
+     */
+    private static void validateCompressionAlgorithms(Config config, String prefix, CompressorRegistry compressors) {
+        String compression = prefix + "compression.";
+        for (String name : config.getPropertyNames()) {
+            if (name.startsWith(compression) && name.endsWith("algorithm")) {
+                try {
+                    CompressionPolicy.validate(config.getValue(name, String.class), compressors);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid value of " + name + ": " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private static CompressionPolicy getCompressionPolicy(Config config, String prefix, MethodDescriptor<?, ?> method) {
+        String fullMethodName = method.getFullMethodName();
+        // Keyed by the full method name, as the server overrides.
+        String methodPrefix = "compression.methods.\"" + fullMethodName + "\".";
+        String algorithm = getOptionalProperty(config, prefix, methodPrefix + "algorithm", String.class,
+                getOptionalProperty(config, prefix, "compression.algorithm", String.class, null));
+        if (algorithm == null) {
+            return CompressionPolicy.NONE;
+        }
+        int minMessageSize = getOptionalProperty(config, prefix, methodPrefix + "min-message-size", Integer.class,
+                getOptionalProperty(config, prefix, "compression.min-message-size", Integer.class, 1024));
+        boolean adaptive = getOptionalProperty(config, prefix, "compression.adaptive", Boolean.class, false);
+        double cpuThreshold = getOptionalProperty(config, prefix, "compression.cpu-threshold", Double.class, 0.9);
+        return new CompressionPolicy(algorithm, minMessageSize, adaptive, cpuThreshold);
+    }
+
+    /**
+     * @return the response cache of the method, {@code null} if no TTL is configured for the method or the client
+     */
+    private static ClientResponseCache createResponseCache(Config config, String prefix, String client,
+            MethodDescriptor<?, ?> method) {
+        String fullMethodName = method.getFullMethodName();
+        String methodPrefix = "cache.methods.\"" + fullMethodName + "\".";
+        Duration ttl = getOptionalProperty(config, prefix, methodPrefix + "ttl", Duration.class,
+                getOptionalProperty(config, prefix, "cache.ttl", Duration.class, null));
+        if (ttl == null) {
+            return null;
+        }
+        Duration staleWhileRevalidate = getOptionalProperty(config, prefix, methodPrefix + "stale-while-revalidate",
+                Duration.class,
+                getOptionalProperty(config, prefix, "cache.stale-while-revalidate", Duration.class, Duration.ZERO));
+        int maxEntries = getOptionalProperty(config, prefix, methodPrefix + "max-entries", Integer.class,
+                getOptionalProperty(config, prefix, "cache.max-entries", Integer.class, 1000));
+        return ClientResponseCaches.create(client, method, ttl, staleWhileRevalidate, maxEntries);
+    }
+
     private static <T> T getMandatoryProperty(Config config, String prefix, String attr, Class<T> type) {
         return config.getValue(prefix + attr, type);
     }
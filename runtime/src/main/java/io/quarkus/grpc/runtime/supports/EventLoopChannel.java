@@ -0,0 +1,93 @@
+package io.quarkus.grpc.runtime.supports;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.ContextInternal;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Channel running its connections on the Vert.x event loops.
+ * <p>
+ * The calls issued from a Vert.x event loop use a connection bound to this event loop, created on first use, and
+ * their callbacks run directly on the event loop, so the caller is notified on its own thread. The calls issued from
+ * other threads use a connection shared by the event loops, and their callbacks run on the executor of the channel.
+ * <p>
+ * Each event loop issuing calls opens its own connection, in addition to the shared one.
+ */
+public final class EventLoopChannel extends Channel {
+
+    private final Function<EventLoopGroup, ManagedChannel> factory;
+    private final ManagedChannel shared;
+    private final ConcurrentMap<EventLoop, ManagedChannel> pinned = new ConcurrentHashMap<>();
+
+    /**
+     * @param group the event loop group of Vert.x
+     * @param factory creates a channel using the given event loops, each time with a new builder
+     */
+    EventLoopChannel(EventLoopGroup group, Function<EventLoopGroup, ManagedChannel> factory) {
+        this.factory = factory;
+        this.shared = factory.apply(group);
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(MethodDescriptor<ReqT, RespT> method,
+            CallOptions callOptions) {
+        Context context = Vertx.currentContext();
+        if (context != null && context.isEventLoopContext()) {
+            EventLoop loop = ((ContextInternal) context).nettyEventLoop();
+            if (loop.inEventLoop()) {
+                ManagedChannel channel = pinned.computeIfAbsent(loop, factory::apply);
+                // An executor set by the caller, such as the one of the blocking stubs, is kept.
+                return channel.newCall(method, callOptions.getExecutor() == null
+                        ? callOptions.withExecutor(executor(loop, context))
+                        : callOptions);
+            }
+        }
+        return shared.newCall(method, callOptions);
+    }
+
+    @Override
+    public String authority() {
+        return shared.authority();
+    }
+
+    /**
+     * @return the number of event loops having their own connection
+     */
+    public int getPinnedConnections() {
+        return pinned.size();
+    }
+
+    /**
+     * Shuts down the shared connection and the connections of the event loops.
+     */
+    public void shutdown() {
+        shared.shutdown();
+        pinned.values().forEach(ManagedChannel::shutdown);
+    }
+
+    /**
+     * @return the executor notifying the call on the event loop, other notifications (such as a cancellation from
+     *         another thread) are moved to the context of the caller
+     */
+    private static Executor executor(EventLoop loop, Context context) {
+        return command -> {
+            if (loop.inEventLoop()) {
+                command.run();
+            } else {
+                context.runOnContext(ignored -> command.run());
+            }
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package io.quarkus.grpc.runtime.supports;
+
+import com.google.protobuf.MessageLite;
+
+public final class MessageSizes {
+
+    private MessageSizes() {
+        // Avoid direct instantiation
+    }
+
+    /**
+     * @param message the message
+     * @return the serialized size of the given message, -1 if unknown
+     */
+    public static int sizeOf(Object message) {
+        // The serialized size is memoized by protobuf, so it is only computed once.
+        if (message instanceof MessageLite) {
+            return ((MessageLite) message).getSerializedSize();
+        }
+        return -1;
+    }
+}
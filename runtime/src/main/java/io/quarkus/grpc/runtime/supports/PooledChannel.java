@@ -0,0 +1,189 @@
+package io.quarkus.grpc.runtime.supports;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.quarkus.grpc.runtime.metrics.PrometheusWriter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Channel spreading the calls over several channels to the same target, each one using its own HTTP/2 connection.
+ * Each call is sent to the channel with the least outstanding calls, so the calls are not limited by the max
+ * concurrent streams and the throughput of a single connection.
+ */
+public final class PooledChannel extends Channel {
+
+    private static final ConcurrentMap<String, PooledChannel> POOLS = new ConcurrentHashMap<>();
+
+    private final String client;
+    private final List<Connection> connections;
+    private final AtomicInteger next = new AtomicInteger();
+
+    PooledChannel(String client, List<ManagedChannel> channels) {
+        this.client = client;
+        List<Connection> list = new ArrayList<>();
+        for (ManagedChannel channel : channels) {
+            list.add(new Connection(channel));
+        }
+        this.connections = Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Creates the pool of a client.
+     *
+     * @param client the name of the client, as used in {@code @GrpcService}
+     * @param channels the channels of the pool, each one using its own connection
+     * @return the pool
+     */
+    static PooledChannel create(String client, List<ManagedChannel> channels) {
+        PooledChannel pool = new PooledChannel(client, channels);
+        POOLS.put(client, pool);
+        return pool;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(MethodDescriptor<ReqT, RespT> method,
+            CallOptions callOptions) {
+        Connection connection = select();
+        return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(
+                connection.channel.newCall(method, callOptions)) {
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                AtomicBoolean released = new AtomicBoolean();
+                connection.outstanding.incrementAndGet();
+                connection.calls.increment();
+                try {
+                    super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(
+                            responseListener) {
+                        @Override
+                        public void onClose(Status status, Metadata trailers) {
+                            if (released.compareAndSet(false, true)) {
+                                connection.outstanding.decrementAndGet();
+                            }
+                            super.onClose(status, trailers);
+                        }
+                    }, headers);
+                } catch (RuntimeException e) {
+                    if (released.compareAndSet(false, true)) {
+                        connection.outstanding.decrementAndGet();
+                    }
+                    throw e;
+                }
+            }
+        };
+    }
+
+    @Override
+    public String authority() {
+        return connections.get(0).channel.authority();
+    }
+
+    public String getClient() {
+        return client;
+    }
+
+    /**
+     * Shuts down the connections of the pool, and removes the pool.
+     */
+    public void shutdown() {
+        POOLS.remove(client, this);
+        connections.forEach(connection -> connection.channel.shutdown());
+    }
+
+    /**
+     * @return the number of outstanding calls of each connection
+     */
+    public int[] getOutstandingCalls() {
+        int[] result = new int[connections.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = connections.get(i).outstanding.get();
+        }
+        return result;
+    }
+
+    /**
+     * @param client the name of the client
+     * @return the pool of the client, {@code null} if the client uses a single connection
+     */
+    public static PooledChannel get(String client) {
+        return POOLS.get(client);
+    }
+
+    /**
+     * Writes the per-connection metrics of the pools using the Prometheus text format.
+     *
+     * @param out the output
+     */
+    public static void writeTo(StringBuilder out) {
+        if (POOLS.isEmpty()) {
+            return;
+        }
+        Map<String, PooledChannel> sorted = new TreeMap<>(POOLS);
+        PrometheusWriter.header(out, "grpc_client_pool_outstanding_calls", "gauge",
+                "Number of calls in flight per pooled connection.");
+        sorted.forEach((client, pool) -> {
+            for (int i = 0; i < pool.connections.size(); i++) {
+                PrometheusWriter.sample(out, "grpc_client_pool_outstanding_calls", labels(client, i),
+                        pool.connections.get(i).outstanding.get());
+            }
+        });
+        PrometheusWriter.header(out, "grpc_client_pool_calls_total", "counter",
+                "Total number of calls started per pooled connection.");
+        sorted.forEach((client, pool) -> {
+            for (int i = 0; i < pool.connections.size(); i++) {
+                PrometheusWriter.sample(out, "grpc_client_pool_calls_total", labels(client, i),
+                        pool.connections.get(i).calls.sum());
+            }
+        });
+    }
+
+    /**
+     * Selects the connection with the least outstanding calls. The scan starts at a rotating index, so the ties are
+     * spread over the connections.
+     */
+    private Connection select() {
+        int size = connections.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        Connection selected = connections.get(start);
+        int min = selected.outstanding.get();
+        for (int i = 1; i < size && min > 0; i++) {
+            Connection candidate = connections.get((start + i) % size);
+            int outstanding = candidate.outstanding.get();
+            if (outstanding < min) {
+                selected = candidate;
+                min = outstanding;
+            }
+        }
+        return selected;
+    }
+
+    private static String labels(String client, int connection) {
+        return "client=\"" + PrometheusWriter.escape(client) + "\",connection=\"" + connection + "\"";
+    }
+
+    private static final class Connection {
+        final ManagedChannel channel;
+        final AtomicInteger outstanding = new AtomicInteger();
+        final LongAdder calls = new LongAdder();
+
+        Connection(ManagedChannel channel) {
+            this.channel = channel;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.quarkus.grpc.runtime.supports;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free, single-producer / single-consumer queue backed by an array.
+ * <p>
+ * {@link #offer(Object)} must only be called by the producer thread, {@link #poll()} and {@link #clear()} only by
+ * the consumer thread. The capacity is rounded up to the next power of two.
+ *
+ * @param <E> the type of element
+ */
+public final class SpscArrayQueue<E> {
+
+    private final AtomicReferenceArray<E> buffer;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    public SpscArrayQueue(int capacity) {
+        int actual = 1 << (32 - Integer.numberOfLeadingZeros(Math.max(capacity, 2) - 1));
+        this.buffer = new AtomicReferenceArray<>(actual);
+        this.mask = actual - 1;
+    }
+
+    /**
+     * @param element the element, must not be {@code null}
+     * @return {@code true} if the element has been enqueued, {@code false} if the queue is full
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("element must not be null");
+        }
+        long index = producerIndex.get();
+        int offset = (int) index & mask;
+        if (buffer.get(offset) != null) {
+            return false;
+        }
+        buffer.lazySet(offset, element);
+        producerIndex.lazySet(index + 1);
+        return true;
+    }
+
+    /**
+     * @return the head of the queue, {@code null} if the queue is empty
+     */
+    public E poll() {
+        long index = consumerIndex.get();
+        int offset = (int) index & mask;
+        E element = buffer.get(offset);
+        if (element == null) {
+            return null;
+        }
+        buffer.lazySet(offset, null);
+        consumerIndex.lazySet(index + 1);
+        return element;
+    }
+
+    public boolean isEmpty() {
+        return producerIndex.get() == consumerIndex.get();
+    }
+
+    public int size() {
+        // Read the consumer index first, so the result is never negative.
+        long consumed = consumerIndex.get();
+        return (int) (producerIndex.get() - consumed);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public void clear() {
+        while (poll() != null) {
+            // Discard
+        }
+    }
+}
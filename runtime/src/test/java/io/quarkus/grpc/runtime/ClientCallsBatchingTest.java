@@ -0,0 +1,147 @@
+package io.quarkus.grpc.runtime;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Context;
+import io.grpc.MethodDescriptor;
+import io.grpc.stub.StreamObserver;
+import io.quarkus.grpc.runtime.batching.BatchingChannel;
+import io.quarkus.grpc.runtime.batching.CallBatcher;
+import io.quarkus.grpc.runtime.batching.CallBatchers;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+import static io.quarkus.grpc.runtime.TestMethods.unary;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+public class ClientCallsBatchingTest {
+
+    private Vertx vertx;
+    private ScheduledExecutorService scheduler;
+    private CallBatcher batcher;
+
+    @BeforeEach
+    public void init() {
+        vertx = Vertx.vertx();
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        if (batcher != null) {
+            CallBatchers.remove(batcher);
+        }
+        scheduler.shutdownNow();
+        vertx.close();
+    }
+
+    @Test
+    public void testThatBatchedCallsKeepTheDeadlineAndTheCancellationOfTheCaller() throws Exception {
+        Channel channel = channel(Duration.ofMillis(10), 100);
+        AtomicReference<Context> started = new AtomicReference<>();
+        Context.CancellableContext caller = Context.current().withDeadlineAfter(1, TimeUnit.MINUTES, scheduler);
+
+        CompletableFuture<String> result;
+        Context previous = caller.attach();
+        try {
+            result = ClientCalls.oneToOne("hello", echo((request, observer) -> started.set(Context.current())),
+                    channel, unary()).subscribeAsCompletionStage();
+        } finally {
+            caller.detach(previous);
+        }
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("hello");
+        assertThat(started.get().getDeadline()).isEqualTo(caller.getDeadline());
+        assertThat(started.get().isCancelled()).isFalse();
+        caller.cancel(null);
+        assertThat(started.get().isCancelled()).isTrue();
+    }
+
+    @Test
+    public void testThatBatchedCallsAreStartedOnTheVertxContextOfTheirCaller() {
+        Channel channel = channel(Duration.ofHours(1), 2);
+        io.vertx.core.Context first = vertx.getOrCreateContext();
+        io.vertx.core.Context second = vertx.getOrCreateContext();
+        assertThat(first).isNotSameAs(second);
+        Map<String, io.vertx.core.Context> started = new ConcurrentHashMap<>();
+
+        BiConsumer<String, StreamObserver<String>> delegate = echo(
+                (request, observer) -> started.put(request, Vertx.currentContext()));
+        first.runOnContext(ignored -> ClientCalls.oneToOne("first", delegate, channel, unary()).subscribe()
+                .with(item -> {
+                }, failure -> {
+                }));
+        second.runOnContext(ignored -> ClientCalls.oneToOne("second", delegate, channel, unary()).subscribe()
+                .with(item -> {
+                }, failure -> {
+                }));
+
+        await().atMost(5, TimeUnit.SECONDS).pollInterval(5, TimeUnit.MILLISECONDS)
+                .until(() -> started.size() == 2);
+        assertThat(started.get("first")).isSameAs(first);
+        assertThat(started.get("second")).isSameAs(second);
+        assertThat(batcher.getBatches()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatCallsCancelledBeforeTheirBatchAreDropped() {
+        Channel channel = channel(Duration.ofMillis(20), 100);
+        AtomicBoolean started = new AtomicBoolean();
+        Uni<String> result = ClientCalls.oneToOne("hello", echo((request, observer) -> started.set(true)),
+                channel, unary());
+
+        Cancellable cancellable = result.subscribe().with(item -> {
+        }, failure -> {
+        });
+        cancellable.cancel();
+
+        await().atMost(5, TimeUnit.SECONDS).pollInterval(5, TimeUnit.MILLISECONDS)
+                .until(() -> batcher.getBatches() == 1);
+        assertThat(started).isFalse();
+    }
+
+    private Channel channel(Duration window, int maxBatchSize) {
+        batcher = CallBatchers.create("batching-test", vertx, window, maxBatchSize);
+        return new BatchingChannel(new NoopChannel(), batcher);
+    }
+
+    private static BiConsumer<String, StreamObserver<String>> echo(
+            BiConsumer<String, StreamObserver<String>> onStart) {
+        return (request, observer) -> {
+            onStart.accept(request, observer);
+            observer.onNext(request);
+            observer.onCompleted();
+        };
+    }
+
+    private static class NoopChannel extends Channel {
+
+        @Override
+        public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(MethodDescriptor<ReqT, RespT> method,
+                CallOptions callOptions) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String authority() {
+            return "localhost";
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.quarkus.grpc.runtime;
+
+import io.grpc.Attributes;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.Status;
+import io.quarkus.grpc.runtime.metrics.RejectionMetrics;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConnectionLimitInterceptorTest {
+
+    @Test
+    public void testThatConnectionsBeyondTheLimitAreNotServed() {
+        ConnectionLimitInterceptor limiter = new ConnectionLimitInterceptor(1, Integer.MAX_VALUE);
+        Attributes first = limiter.transportReady(Attributes.EMPTY);
+        Attributes second = limiter.transportReady(Attributes.EMPTY);
+        assertThat(limiter.getConnections()).isEqualTo(1);
+        long rejected = RejectionMetrics.getRejectedCalls(ConnectionLimitInterceptor.MAX_CONNECTIONS);
+
+        FakeServerCall call = call(second);
+        assertThat(start(limiter, call)).isNull();
+        assertThat(call.status.getCode()).isEqualTo(Status.Code.UNAVAILABLE);
+        assertThat(RejectionMetrics.getRejectedCalls(ConnectionLimitInterceptor.MAX_CONNECTIONS))
+                .isEqualTo(rejected + 1);
+        assertThat(start(limiter, call(first))).isNotNull();
+
+        // Once the first connection is closed, the second one is served.
+        limiter.transportTerminated(first);
+        assertThat(limiter.getConnections()).isEqualTo(0);
+        call = call(second);
+        assertThat(start(limiter, call)).isNotNull();
+        assertThat(call.status).isNull();
+        assertThat(limiter.getConnections()).isEqualTo(1);
+
+        limiter.transportTerminated(second);
+        assertThat(limiter.getConnections()).isEqualTo(0);
+    }
+
+    @Test
+    public void testThatCallsBeyondTheLimitOfTheConnectionAreRejected() {
+        ConnectionLimitInterceptor limiter = new ConnectionLimitInterceptor(Integer.MAX_VALUE, 2);
+        Attributes connection = limiter.transportReady(Attributes.EMPTY);
+        long rejected = RejectionMetrics.getRejectedCalls(ConnectionLimitInterceptor.MAX_CALLS_PER_CONNECTION);
+
+        ServerCall.Listener<String> first = start(limiter, call(connection));
+        assertThat(start(limiter, call(connection))).isNotNull();
+        FakeServerCall third = call(connection);
+        assertThat(start(limiter, third)).isNull();
+        assertThat(third.status.getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+        assertThat(RejectionMetrics.getRejectedCalls(ConnectionLimitInterceptor.MAX_CALLS_PER_CONNECTION))
+                .isEqualTo(rejected + 1);
+
+        // Other connections are not impacted.
+        assertThat(start(limiter, call(limiter.transportReady(Attributes.EMPTY)))).isNotNull();
+
+        first.onComplete();
+        assertThat(start(limiter, call(connection))).isNotNull();
+    }
+
+    private static FakeServerCall call(Attributes attributes) {
+        return new FakeServerCall(MethodDescriptor.MethodType.UNARY, attributes);
+    }
+
+    /**
+     * @return the listener of the call, {@code null} if the call has been rejected
+     */
+    private static ServerCall.Listener<String> start(ConnectionLimitInterceptor limiter, FakeServerCall call) {
+        ServerCall.Listener<String> listener = limiter.interceptCall(call, new Metadata(),
+                (c, headers) -> new ServerCall.Listener<String>() {
+                });
+        return call.status == null ? listener : null;
+    }
+}
@@ -0,0 +1,85 @@
+package io.quarkus.grpc.runtime;
+
+import io.grpc.Attributes;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.Status;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Server call recording the sent messages and the status.
+ */
+public class FakeServerCall extends ServerCall<String, String> {
+
+    public static final MethodDescriptor.Marshaller<String> MARSHALLER = new MethodDescriptor.Marshaller<String>() {
+        @Override
+        public InputStream stream(String value) {
+            return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String parse(InputStream stream) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private final MethodDescriptor<String, String> method;
+    private final Attributes attributes;
+    public final List<String> messages = new ArrayList<>();
+    public Status status;
+    public Metadata trailers;
+
+    public FakeServerCall(MethodDescriptor.MethodType type) {
+        this(type, Attributes.EMPTY);
+    }
+
+    public FakeServerCall(MethodDescriptor.MethodType type, Attributes attributes) {
+        this.method = MethodDescriptor.<String, String> newBuilder()
+                .setType(type)
+                .setFullMethodName("test.Service/Method")
+                .setRequestMarshaller(MARSHALLER)
+                .setResponseMarshaller(MARSHALLER)
+                .build();
+        this.attributes = attributes;
+    }
+
+    @Override
+    public void request(int numMessages) {
+    }
+
+    @Override
+    public void sendHeaders(Metadata headers) {
+    }
+
+    @Override
+    public void sendMessage(String message) {
+        messages.add(message);
+    }
+
+    @Override
+    public void close(Status status, Metadata trailers) {
+        this.status = status;
+        this.trailers = trailers;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public Attributes getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public MethodDescriptor<String, String> getMethodDescriptor() {
+        return method;
+    }
+}
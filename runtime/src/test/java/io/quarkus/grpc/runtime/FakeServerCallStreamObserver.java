@@ -0,0 +1,85 @@
+package io.quarkus.grpc.runtime;
+
+import io.grpc.stub.ServerCallStreamObserver;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fake {@link ServerCallStreamObserver} letting the tests control the transport readiness.
+ */
+class FakeServerCallStreamObserver<T> extends ServerCallStreamObserver<T> {
+
+    final List<T> items = new CopyOnWriteArrayList<>();
+    volatile Throwable failure;
+    volatile boolean completed;
+    volatile boolean ready = true;
+    volatile boolean cancelled;
+    volatile Runnable onReadyHandler;
+    volatile Runnable onCancelHandler;
+    volatile boolean autoInboundFlowControl = true;
+    final AtomicInteger requested = new AtomicInteger();
+
+    void setReady(boolean ready) {
+        this.ready = ready;
+        if (ready && onReadyHandler != null) {
+            onReadyHandler.run();
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void setOnCancelHandler(Runnable onCancelHandler) {
+        this.onCancelHandler = onCancelHandler;
+    }
+
+    @Override
+    public void setCompression(String compression) {
+        // Ignored
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void setOnReadyHandler(Runnable onReadyHandler) {
+        this.onReadyHandler = onReadyHandler;
+    }
+
+    @Override
+    public void disableAutoInboundFlowControl() {
+        autoInboundFlowControl = false;
+    }
+
+    @Override
+    public void request(int count) {
+        requested.addAndGet(count);
+    }
+
+    @Override
+    public void setMessageCompression(boolean enable) {
+        // Ignored
+    }
+
+    @Override
+    public void onNext(T value) {
+        items.add(value);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        failure = t;
+    }
+
+    @Override
+    public void onCompleted() {
+        completed = true;
+    }
+}
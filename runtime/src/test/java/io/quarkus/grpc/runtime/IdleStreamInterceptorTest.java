@@ -0,0 +1,61 @@
+package io.quarkus.grpc.runtime;
+
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.Status;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdleStreamInterceptorTest {
+
+    @Test
+    public void testThatIdleStreamsAreClosed() throws InterruptedException {
+        IdleStreamInterceptor interceptor = new IdleStreamInterceptor(Duration.ofMillis(10));
+        FakeServerCall call = new FakeServerCall(MethodDescriptor.MethodType.BIDI_STREAMING);
+        List<ServerCall<String, String>> started = new ArrayList<>();
+        interceptor.interceptCall(call, new Metadata(), (c, headers) -> {
+            started.add(c);
+            return new ServerCall.Listener<String>() {
+            };
+        });
+
+        assertThat(interceptor.getStreamCount()).isEqualTo(1);
+        Thread.sleep(20);
+        assertThat(interceptor.reapIdleStreams()).isEqualTo(1);
+        assertThat(call.status.getCode()).isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+        assertThat(interceptor.getStreamCount()).isEqualTo(0);
+
+        // The application is not aware of the closure yet.
+        started.get(0).sendMessage("late");
+        started.get(0).close(Status.OK, new Metadata());
+        assertThat(call.messages).isEmpty();
+        assertThat(call.status.getCode()).isEqualTo(Status.Code.DEADLINE_EXCEEDED);
+    }
+
+    @Test
+    public void testThatActiveStreamsAreKept() {
+        IdleStreamInterceptor interceptor = new IdleStreamInterceptor(Duration.ofMinutes(1));
+        FakeServerCall call = new FakeServerCall(MethodDescriptor.MethodType.SERVER_STREAMING);
+        interceptor.interceptCall(call, new Metadata(), (c, headers) -> new ServerCall.Listener<String>() {
+        });
+
+        assertThat(interceptor.reapIdleStreams()).isEqualTo(0);
+        assertThat(call.status).isNull();
+    }
+
+    @Test
+    public void testThatUnaryCallsAreIgnored() {
+        IdleStreamInterceptor interceptor = new IdleStreamInterceptor(Duration.ofMillis(1));
+        FakeServerCall call = new FakeServerCall(MethodDescriptor.MethodType.UNARY);
+        interceptor.interceptCall(call, new Metadata(), (c, headers) -> new ServerCall.Listener<String>() {
+        });
+
+        assertThat(interceptor.getStreamCount()).isEqualTo(0);
+    }
+}
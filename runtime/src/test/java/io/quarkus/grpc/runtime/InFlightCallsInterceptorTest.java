@@ -0,0 +1,57 @@
+package io.quarkus.grpc.runtime;
+
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.Status;
+import io.quarkus.grpc.runtime.metrics.RejectionMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InFlightCallsInterceptorTest {
+
+    @Test
+    public void testThatNewCallsAreRejectedWhileDraining() throws Exception {
+        InFlightCallsInterceptor interceptor = new InFlightCallsInterceptor();
+        FakeServerCall unary = new FakeServerCall(MethodDescriptor.MethodType.UNARY);
+        FakeServerCall streaming = new FakeServerCall(MethodDescriptor.MethodType.BIDI_STREAMING);
+        ServerCall.Listener<String> unaryListener = start(interceptor, unary);
+        ServerCall.Listener<String> streamingListener = start(interceptor, streaming);
+        assertThat(interceptor.getInFlightUnaryCalls()).isEqualTo(1);
+        assertThat(interceptor.getInFlightStreamingCalls()).isEqualTo(1);
+
+        interceptor.startDraining();
+        long rejected = RejectionMetrics.getRejectedCalls(InFlightCallsInterceptor.SHUTDOWN);
+        FakeServerCall late = new FakeServerCall(MethodDescriptor.MethodType.UNARY);
+        start(interceptor, late);
+        assertThat(late.status.getCode()).isEqualTo(Status.Code.UNAVAILABLE);
+        assertThat(RejectionMetrics.getRejectedCalls(InFlightCallsInterceptor.SHUTDOWN)).isEqualTo(rejected + 1);
+        assertThat(interceptor.getInFlightCalls()).isEqualTo(2);
+
+        // The calls in flight are not interrupted, and the drain completes once they are done.
+        assertThat(unary.status).isNull();
+        assertThat(streaming.status).isNull();
+        assertThat(interceptor.awaitDrained(Duration.ofMillis(10))).isFalse();
+        CompletableFuture<Boolean> drained = CompletableFuture.supplyAsync(() -> {
+            try {
+                return interceptor.awaitDrained(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        unaryListener.onComplete();
+        streamingListener.onCancel();
+        assertThat(drained.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(interceptor.getInFlightCalls()).isEqualTo(0);
+    }
+
+    private static ServerCall.Listener<String> start(InFlightCallsInterceptor interceptor, FakeServerCall call) {
+        return interceptor.interceptCall(call, new Metadata(), (c, headers) -> new ServerCall.Listener<String>() {
+        });
+    }
+}
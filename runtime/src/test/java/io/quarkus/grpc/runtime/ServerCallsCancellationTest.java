@@ -0,0 +1,70 @@
+package io.quarkus.grpc.runtime;
+
+import io.quarkus.grpc.runtime.metrics.CancellationMetrics;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ServerCallsCancellationTest {
+
+    @Test
+    public void testThatUnaryProcessingIsCancelled() {
+        long cancelled = CancellationMetrics.getCancelledCalls();
+        AtomicBoolean terminated = new AtomicBoolean();
+        AtomicReference<UniEmitter<? super String>> emitter = new AtomicReference<>();
+        FakeServerCallStreamObserver<String> observer = new FakeServerCallStreamObserver<>();
+
+        ServerCalls.oneToOne("hello", observer, request -> Uni.createFrom().emitter(e -> {
+            emitter.set(e);
+            e.onTermination(() -> terminated.set(true));
+        }));
+        assertThat(observer.onCancelHandler).isNotNull();
+
+        observer.onCancelHandler.run();
+        assertThat(terminated).isTrue();
+        assertThat(CancellationMetrics.getCancelledCalls()).isEqualTo(cancelled + 1);
+
+        // Late results are dropped.
+        emitter.get().complete("too late");
+        assertThat(observer.items).isEmpty();
+        assertThat(observer.completed).isFalse();
+    }
+
+    @Test
+    public void testThatStreamingProcessingIsCancelled() {
+        AtomicBoolean terminated = new AtomicBoolean();
+        AtomicReference<MultiEmitter<? super Integer>> emitter = new AtomicReference<>();
+        FakeServerCallStreamObserver<Integer> observer = new FakeServerCallStreamObserver<>();
+
+        ServerCalls.oneToMany("hello", observer, request -> Multi.createFrom().emitter(e -> {
+            emitter.set(e);
+            e.onTermination(() -> terminated.set(true));
+        }));
+        emitter.get().emit(1);
+        assertThat(observer.items).containsExactly(1);
+
+        observer.onCancelHandler.run();
+        assertThat(terminated).isTrue();
+        emitter.get().emit(2);
+        emitter.get().complete();
+        assertThat(observer.items).containsExactly(1);
+        assertThat(observer.completed).isFalse();
+    }
+
+    @Test
+    public void testThatTheCancellationPropagatesToTheInboundStream() {
+        AtomicBoolean terminated = new AtomicBoolean();
+        FakeServerCallStreamObserver<Integer> observer = new FakeServerCallStreamObserver<>();
+
+        ServerCalls.manyToMany(observer, input -> input.onTermination().invoke((f, c) -> terminated.set(c)));
+        observer.onCancelHandler.run();
+        assertThat(terminated).isTrue();
+    }
+}
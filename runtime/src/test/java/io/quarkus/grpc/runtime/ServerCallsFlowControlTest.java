@@ -0,0 +1,121 @@
+package io.quarkus.grpc.runtime;
+
+import io.quarkus.grpc.runtime.config.GrpcStreamingConfig;
+import io.grpc.stub.StreamObserver;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ServerCallsFlowControlTest {
+
+    @BeforeEach
+    public void configure() {
+        GrpcStreamingConfig config = new GrpcStreamingConfig();
+        config.prefetch = 4;
+        config.inboundBufferSize = 4;
+        ServerCalls.configure(config);
+    }
+
+    @AfterEach
+    public void reset() {
+        GrpcStreamingConfig config = new GrpcStreamingConfig();
+        config.prefetch = 16;
+        config.inboundBufferSize = 16;
+        ServerCalls.configure(config);
+    }
+
+    @Test
+    public void testThatItemsAreOnlyRequestedWhenTheTransportIsReady() {
+        AtomicInteger emitted = new AtomicInteger();
+        FakeServerCallStreamObserver<Integer> observer = new FakeServerCallStreamObserver<>();
+        observer.setReady(false);
+
+        ServerCalls.oneToMany("ignored", observer,
+                s -> Multi.createFrom().range(0, 100).onItem().invoke(i -> emitted.incrementAndGet()));
+        assertThat(observer.items).isEmpty();
+        assertThat(emitted).hasValue(0);
+
+        observer.setReady(true);
+        assertThat(observer.items).hasSize(100);
+        assertThat(observer.completed).isTrue();
+    }
+
+    @Test
+    public void testThatTheNumberOfPendingItemsIsBoundedByThePrefetch() {
+        FakeServerCallStreamObserver<Integer> observer = new FakeServerCallStreamObserver<Integer>() {
+            @Override
+            public void onNext(Integer value) {
+                super.onNext(value);
+                // The transport becomes unavailable after every item.
+                ready = false;
+            }
+        };
+
+        ServerCalls.oneToMany("ignored", observer, s -> Multi.createFrom().range(0, 100));
+        assertThat(observer.items).hasSize(4);
+
+        observer.setReady(true);
+        assertThat(observer.items).hasSize(8);
+        assertThat(observer.completed).isFalse();
+    }
+
+    @Test
+    public void testThatInboundMessagesAreRequestedOnDemand() {
+        FakeServerCallStreamObserver<String> observer = new FakeServerCallStreamObserver<>();
+        List<String> received = new CopyOnWriteArrayList<>();
+        AtomicReference<Subscription> subscription = new AtomicReference<>();
+
+        StreamObserver<String> pump = ServerCalls.manyToOne(observer, multi -> {
+            multi.subscribe(new Subscriber<String>() {
+                @Override
+                public void onSubscribe(Subscription s) {
+                    subscription.set(s);
+                }
+
+                @Override
+                public void onNext(String item) {
+                    received.add(item);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    // Ignored
+                }
+
+                @Override
+                public void onComplete() {
+                    // Ignored
+                }
+            });
+            return Uni.createFrom().nothing();
+        });
+        assertThat(observer.autoInboundFlowControl).isFalse();
+        assertThat(observer.requested).hasValue(0);
+
+        subscription.get().request(2);
+        assertThat(observer.requested).hasValue(2);
+        pump.onNext("a");
+        pump.onNext("b");
+        assertThat(received).containsExactly("a", "b");
+
+        // The transport is never asked for more than the buffer size.
+        subscription.get().request(100);
+        assertThat(observer.requested).hasValue(6);
+        for (int i = 0; i < 4; i++) {
+            pump.onNext("c" + i);
+        }
+        assertThat(received).hasSize(6);
+        assertThat(observer.requested).hasValue(10);
+    }
+}
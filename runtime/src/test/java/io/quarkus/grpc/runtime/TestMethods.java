@@ -0,0 +1,42 @@
+package io.quarkus.grpc.runtime;
+
+import io.grpc.MethodDescriptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * Method descriptors used by the tests of the channels and client calls, whose messages are never serialized.
+ */
+public final class TestMethods {
+
+    private static final MethodDescriptor.Marshaller<String> NOOP = new MethodDescriptor.Marshaller<String>() {
+        @Override
+        public InputStream stream(String value) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public String parse(InputStream stream) {
+            return "";
+        }
+    };
+
+    private static final MethodDescriptor<String, String> UNARY = MethodDescriptor.<String, String> newBuilder()
+            .setType(MethodDescriptor.MethodType.UNARY)
+            .setFullMethodName("test.Service/Method")
+            .setRequestMarshaller(NOOP)
+            .setResponseMarshaller(NOOP)
+            .build();
+
+    private TestMethods() {
+        // Avoid direct instantiation
+    }
+
+    /**
+     * @return the unary method {@code test.Service/Method}, whose marshallers neither write nor read anything
+     */
+    public static MethodDescriptor<String, String> unary() {
+        return UNARY;
+    }
+}
@@ -0,0 +1,59 @@
+package io.quarkus.grpc.runtime.batching;
+
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+public class CallBatcherTest {
+
+    private Vertx vertx;
+    private final List<String> started = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void init() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        vertx.close();
+    }
+
+    @Test
+    public void testThatFullBatchesAreStartedImmediately() {
+        CallBatcher batcher = new CallBatcher("test", vertx, Duration.ofHours(1), 3);
+        batcher.submit(() -> started.add("a"));
+        batcher.submit(() -> started.add("b"));
+        assertThat(started).isEmpty();
+
+        batcher.submit(() -> started.add("c"));
+        assertThat(started).containsExactly("a", "b", "c");
+        assertThat(batcher.getBatches()).isEqualTo(1);
+        assertThat(batcher.getCalls()).isEqualTo(3);
+    }
+
+    @Test
+    public void testThatPendingCallsAreStartedWhenTheWindowElapses() {
+        CallBatcher batcher = new CallBatcher("test", vertx, Duration.ofMillis(20), 100);
+        batcher.submit(() -> started.add("a"));
+        batcher.submit(() -> started.add("b"));
+        await().atMost(5, TimeUnit.SECONDS).pollInterval(5, TimeUnit.MILLISECONDS)
+                .until(() -> started.size() == 2);
+        assertThat(batcher.getBatches()).isEqualTo(1);
+
+        // A new window is opened by the next call.
+        batcher.submit(() -> started.add("c"));
+        await().atMost(5, TimeUnit.SECONDS).pollInterval(5, TimeUnit.MILLISECONDS)
+                .until(() -> started.size() == 3);
+        assertThat(batcher.getBatches()).isEqualTo(2);
+    }
+}
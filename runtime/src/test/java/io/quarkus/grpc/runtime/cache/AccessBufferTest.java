@@ -0,0 +1,61 @@
+package io.quarkus.grpc.runtime.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccessBufferTest {
+
+    @Test
+    public void testThatTheAccessesAreReplayedInOrder() {
+        AccessBuffer<Integer> buffer = new AccessBuffer<>();
+        for (int i = 0; i < AccessBuffer.STRIPE_SIZE; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        // The stripe of the current thread is full.
+        assertThat(buffer.offer(-1)).isFalse();
+
+        List<Integer> replayed = new ArrayList<>();
+        buffer.drainTo(replayed::add);
+        assertThat(replayed).hasSize(AccessBuffer.STRIPE_SIZE).startsWith(0, 1, 2).endsWith(
+                AccessBuffer.STRIPE_SIZE - 1);
+
+        replayed.clear();
+        assertThat(buffer.offer(42)).isTrue();
+        buffer.drainTo(replayed::add);
+        assertThat(replayed).containsExactly(42);
+    }
+
+    @Test
+    public void testThatConcurrentAccessesAreRecordedWithoutLocking() throws Exception {
+        AccessBuffer<Integer> buffer = new AccessBuffer<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch done = new CountDownLatch(4);
+        try {
+            for (int t = 0; t < 4; t++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        buffer.offer(i);
+                    }
+                    done.countDown();
+                });
+            }
+            List<Integer> replayed = new ArrayList<>();
+            while (!done.await(1, TimeUnit.MILLISECONDS)) {
+                buffer.drainTo(replayed::add);
+            }
+            buffer.drainTo(replayed::add);
+            // Lossy, but never more accesses than recorded, and never a null.
+            assertThat(replayed).doesNotContainNull().hasSizeLessThanOrEqualTo(40_000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.quarkus.grpc.runtime.cache;
+
+import com.google.protobuf.ByteString;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import io.quarkus.grpc.runtime.ClientCalls;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClientResponseCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final StringMarshaller marshaller = new StringMarshaller();
+
+    @Test
+    public void testThatStaleResponsesAreReturnedWhileTheyAreRefreshed() {
+        ClientResponseCache cache = new ClientResponseCache("hello", "test/Method", marshaller, Duration.ofSeconds(10),
+                Duration.ofSeconds(5), 10, now::get);
+        AtomicInteger revalidations = new AtomicInteger();
+        ByteString key = cache.keyOf("hello");
+        assertThat((String) cache.get(key, revalidations::incrementAndGet)).isNull();
+        cache.put(key, "world");
+
+        now.set(Duration.ofSeconds(11).toNanos());
+        assertThat((String) cache.get(key, revalidations::incrementAndGet)).isEqualTo("world");
+        assertThat((String) cache.get(key, revalidations::incrementAndGet)).isEqualTo("world");
+        assertThat(revalidations).hasValue(1);
+
+        // A failed refresh is retried by the next stale hit.
+        cache.revalidationFailed(key);
+        assertThat((String) cache.get(key, revalidations::incrementAndGet)).isEqualTo("world");
+        assertThat(revalidations).hasValue(2);
+
+        cache.put(key, "refreshed");
+        assertThat((String) cache.get(key, revalidations::incrementAndGet)).isEqualTo("refreshed");
+        assertThat(cache.getStaleHits()).isEqualTo(3);
+        assertThat(cache.getHits()).isEqualTo(1);
+
+        now.set(Duration.ofSeconds(30).toNanos());
+        assertThat((String) cache.get(key, revalidations::incrementAndGet)).isNull();
+        assertThat(cache.getHitRatio()).isEqualTo(4.0 / 6);
+    }
+
+    @Test
+    public void testThatCachedCallsDoNotReachTheChannel() {
+        MethodDescriptor<String, String> method = MethodDescriptor.<String, String> newBuilder()
+                .setType(MethodDescriptor.MethodType.UNARY)
+                .setFullMethodName("test/Cached")
+                .setRequestMarshaller(marshaller)
+                .setResponseMarshaller(marshaller)
+                .build();
+        CachingChannel channel = new CachingChannel(null,
+                m -> ClientResponseCaches.create("test", m, Duration.ofMinutes(1), Duration.ZERO, 10));
+        List<String> calls = new CopyOnWriteArrayList<>();
+        Delegate delegate = new Delegate(calls);
+
+        assertThat(ClientCalls.oneToOne("a", delegate::call, channel, method).await().indefinitely()).isEqualTo("A");
+        assertThat(ClientCalls.oneToOne("a", delegate::call, channel, method).await().indefinitely()).isEqualTo("A");
+        assertThat(ClientCalls.oneToOne("b", delegate::call, channel, method).await().indefinitely()).isEqualTo("B");
+        assertThat(calls).containsExactly("a", "b");
+        assertThat(ClientResponseCaches.get("test", "test/Cached").getHits()).isEqualTo(1);
+
+        // Failures are not cached.
+        delegate.failing = true;
+        ClientCalls.oneToOne("c", delegate::call, channel, method).onFailure().recoverWithItem("failed")
+                .await().indefinitely();
+        assertThat(ClientResponseCaches.get("test", "test/Cached").size()).isEqualTo(2);
+
+        // The caches are removed with the channel.
+        ClientResponseCaches.remove("test");
+        assertThat(ClientResponseCaches.get("test", "test/Cached")).isNull();
+    }
+
+    private static class Delegate {
+        final List<String> calls;
+        volatile boolean failing;
+
+        Delegate(List<String> calls) {
+            this.calls = calls;
+        }
+
+        void call(String request, StreamObserver<String> observer) {
+            calls.add(request);
+            if (failing) {
+                observer.onError(Status.UNAVAILABLE.asRuntimeException());
+            } else {
+                observer.onNext(request.toUpperCase());
+                observer.onCompleted();
+            }
+        }
+    }
+}
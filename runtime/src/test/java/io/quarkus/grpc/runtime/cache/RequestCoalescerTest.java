@@ -0,0 +1,110 @@
+package io.quarkus.grpc.runtime.cache;
+
+import com.google.protobuf.ByteString;
+import io.grpc.Context;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestCoalescerTest {
+
+    private final RequestCoalescer coalescer = new RequestCoalescer("test/Method", new StringMarshaller());
+    private final AtomicInteger executions = new AtomicInteger();
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private final AtomicReference<UniEmitter<? super String>> emitter = new AtomicReference<>();
+    private final List<String> items = new CopyOnWriteArrayList<>();
+    private final List<Throwable> failures = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Context> executionContext = new AtomicReference<>();
+
+    @Test
+    public void testThatIdenticalRequestsShareOneExecution() {
+        ByteString key = coalescer.keyOf("hello");
+        coalescer.execute(key, method(), items::add, failures::add);
+        coalescer.execute(coalescer.keyOf("hello"), method(), items::add, failures::add);
+        UniEmitter<? super String> hello = emitter.get();
+        coalescer.execute(coalescer.keyOf("other"), method(), items::add, failures::add);
+        assertThat(executions).hasValue(2);
+        assertThat(coalescer.getCoalescedCalls()).isEqualTo(1);
+
+        hello.complete("world");
+        assertThat(items).containsExactly("world", "world");
+        assertThat(coalescer.getExecutionsInFlight()).isEqualTo(1);
+
+        // Completed executions are not reused.
+        coalescer.execute(key, method(), items::add, failures::add);
+        assertThat(executions).hasValue(3);
+    }
+
+    @Test
+    public void testThatFailuresAreSentToAllTheCallers() {
+        ByteString key = coalescer.keyOf("hello");
+        coalescer.execute(key, method(), items::add, failures::add);
+        coalescer.execute(key, method(), items::add, failures::add);
+        emitter.get().fail(new IllegalStateException("boom"));
+        assertThat(failures).hasSize(2);
+        assertThat(items).isEmpty();
+    }
+
+    @Test
+    public void testThatTheExecutionIsOnlyCancelledWhenAllTheCallersLeft() {
+        ByteString key = coalescer.keyOf("hello");
+        Cancellable first = coalescer.execute(key, method(), item -> items.add("first"), failures::add);
+        Cancellable second = coalescer.execute(key, method(), item -> items.add("second"), failures::add);
+
+        first.cancel();
+        assertThat(terminated).isFalse();
+        emitter.get().complete("world");
+        assertThat(items).containsExactly("second");
+
+        coalescer.execute(key, method(), items::add, failures::add).cancel();
+        assertThat(terminated).isTrue();
+        assertThat(coalescer.getExecutionsInFlight()).isZero();
+        second.cancel();
+    }
+
+    @Test
+    public void testThatTheExecutionIsNotBoundToTheContextOfTheFirstCaller() {
+        ByteString key = coalescer.keyOf("hello");
+        Context.CancellableContext caller = Context.current().withCancellation();
+        Cancellable first;
+        Context previous = caller.attach();
+        try {
+            first = coalescer.execute(key, method(), item -> items.add("first"), failures::add);
+        } finally {
+            caller.detach(previous);
+        }
+        coalescer.execute(key, method(), item -> items.add("second"), failures::add);
+
+        // The server cancels the call when its context is cancelled.
+        caller.cancel(null);
+        first.cancel();
+        assertThat(executionContext.get().isCancelled()).isFalse();
+        assertThat(terminated).isFalse();
+
+        emitter.get().complete("world");
+        assertThat(items).containsExactly("second");
+        assertThat(failures).isEmpty();
+    }
+
+    private Supplier<Uni<String>> method() {
+        return () -> {
+            executions.incrementAndGet();
+            executionContext.set(Context.current());
+            terminated.set(false);
+            return Uni.createFrom().emitter(e -> {
+                emitter.set(e);
+                e.onTermination(() -> terminated.set(true));
+            });
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package io.quarkus.grpc.runtime.cache;
+
+import com.google.protobuf.ByteString;
+import io.grpc.Context;
+import io.grpc.KnownLength;
+import io.grpc.Metadata;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final StringMarshaller marshaller = new StringMarshaller();
+
+    @Test
+    public void testThatCachedResponsesAreServedUntilTheyExpire() {
+        ResponseCache cache = create(10);
+        ByteString key = cache.keyOf("hello");
+        assertThat((String) cache.get(key)).isNull();
+        assertThat(cache.put(key, "world")).isTrue();
+        assertThat((String) cache.get(cache.keyOf("hello"))).isEqualTo("world");
+
+        now.addAndGet(Duration.ofSeconds(61).toNanos());
+        assertThat((String) cache.get(key)).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    public void testThatTheCachedResponsesAreNotSerializedAgain() throws IOException {
+        ResponseCache cache = create(10);
+        CachingMarshaller<String> caching = new CachingMarshaller<>(marshaller, cache);
+        String response = "world";
+        ByteString key = cache.keyOf("hello");
+        cache.put(key, response);
+        int serializations = marshaller.serializations.get();
+
+        InputStream stream = caching.stream(cache.get(key));
+        assertThat(stream).isInstanceOf(KnownLength.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((CachingMarshaller.SerializedMessage) stream).drainTo(out);
+        assertThat(out.toString("UTF-8")).isEqualTo("world");
+        assertThat(marshaller.serializations.get()).isEqualTo(serializations);
+
+        // Responses that are not cached are serialized by the delegate.
+        caching.stream("other");
+        assertThat(marshaller.serializations.get()).isEqualTo(serializations + 1);
+    }
+
+    @Test
+    public void testThatFrequentRequestsAreNotEvictedByOneOffRequests() {
+        ResponseCache cache = create(2);
+        ByteString popular = cache.keyOf("popular");
+        for (int i = 0; i < 5; i++) {
+            cache.get(popular);
+        }
+        cache.put(popular, "p");
+        ByteString other = cache.keyOf("other");
+        cache.get(other);
+        cache.put(other, "o");
+        cache.get(popular);
+
+        // The least recently used entry is "other", requested once, so a new one-off request cannot evict it...
+        ByteString oneOff = cache.keyOf("one-off");
+        cache.get(oneOff);
+        assertThat(cache.put(oneOff, "x")).isFalse();
+        assertThat(cache.size()).isEqualTo(2);
+
+        // ... but a request that became more frequent can.
+        ByteString frequent = cache.keyOf("frequent");
+        for (int i = 0; i < 3; i++) {
+            cache.get(frequent);
+        }
+        assertThat(cache.put(frequent, "f")).isTrue();
+        assertThat((String) cache.get(popular)).isEqualTo("p");
+        assertThat((String) cache.get(other)).isNull();
+        assertThat(cache.getEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatLargeResponsesAreNotCached() {
+        ResponseCache cache = new ResponseCache("test/Method", marshaller, marshaller, Duration.ofSeconds(60), 10, 4,
+                Collections.emptyList(), now::get);
+        assertThat(cache.put(cache.keyOf("a"), "small")).isFalse();
+        assertThat(cache.put(cache.keyOf("b"), "tiny")).isTrue();
+    }
+
+    @Test
+    public void testInvalidation() {
+        ResponseCache cache = create(10);
+        cache.put(cache.keyOf("a"), "1");
+        cache.put(cache.keyOf("b"), "2");
+        assertThat(cache.invalidate("a")).isTrue();
+        assertThat(cache.invalidate("a")).isFalse();
+        assertThat((String) cache.get(cache.keyOf("b"))).isEqualTo("2");
+        cache.invalidateAll();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getSerializedForm("2")).isNull();
+    }
+
+    @Test
+    public void testThatTheKeyHeadersArePartOfTheKey() throws Exception {
+        ResponseCache cache = new ResponseCache("test/Method", marshaller, marshaller, Duration.ofSeconds(60), 10,
+                1024, Collections.singletonList("authorization"), now::get);
+        ByteString alice = keyOf(cache, "hello", "Bearer alice");
+        ByteString bob = keyOf(cache, "hello", "Bearer bob");
+        ByteString anonymous = keyOf(cache, "hello", null);
+        assertThat(alice).isNotEqualTo(bob).isNotEqualTo(anonymous);
+        assertThat(keyOf(cache, "hello", "Bearer alice")).isEqualTo(alice);
+
+        cache.put(alice, "alice");
+        cache.put(anonymous, "anonymous");
+        assertThat((String) cache.get(bob)).isNull();
+        assertThat((String) cache.get(alice)).isEqualTo("alice");
+        cache.put(keyOf(cache, "other", "Bearer alice"), "other");
+
+        // Invalidating a request removes its responses for all the callers.
+        assertThat(cache.invalidate("hello")).isTrue();
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat((String) cache.get(keyOf(cache, "other", "Bearer alice"))).isEqualTo("other");
+    }
+
+    private static ByteString keyOf(ResponseCache cache, String request, String authorization) throws Exception {
+        Metadata headers = new Metadata();
+        if (authorization != null) {
+            headers.put(Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER), authorization);
+        }
+        return Context.current().withValue(ResponseCache.HEADERS_KEY, cache.headersKey(headers))
+                .call(() -> cache.keyOf(request));
+    }
+
+    private ResponseCache create(int maxEntries) {
+        return new ResponseCache("test/Method", marshaller, marshaller, Duration.ofSeconds(60), maxEntries, 1024,
+                Collections.emptyList(), now::get);
+    }
+}
@@ -0,0 +1,95 @@
+package io.quarkus.grpc.runtime.compression;
+
+import io.grpc.CompressorRegistry;
+import io.quarkus.grpc.runtime.config.GrpcCompressionConfig;
+import io.quarkus.grpc.runtime.config.GrpcCompressionOverrideConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CompressionServerInterceptorTest {
+
+    @Test
+    public void testThatMethodSettingsOverrideServiceAndGlobalSettings() {
+        GrpcCompressionConfig config = config("gzip", 1024);
+        config.overrides.put("test.Service", override(null, 10));
+        config.overrides.put("test.Service/Plain", override("identity", null));
+        config.overrides.put("test.Service/Small", override(null, 0));
+        CompressionServerInterceptor interceptor = new CompressionServerInterceptor(config,
+                CompressorRegistry.getDefaultInstance());
+
+        CompressionPolicy other = interceptor.resolve("test.Other/Method");
+        assertThat(other.getAlgorithms()).containsExactly("gzip");
+        assertThat(other.getMinMessageSize()).isEqualTo(1024);
+
+        CompressionPolicy service = interceptor.resolve("test.Service/Method");
+        assertThat(service.getAlgorithms()).containsExactly("gzip");
+        assertThat(service.getMinMessageSize()).isEqualTo(10);
+
+        assertThat(interceptor.resolve("test.Service/Plain").isEnabled()).isFalse();
+        assertThat(interceptor.resolve("test.Service/Small").getMinMessageSize()).isEqualTo(0);
+    }
+
+    @Test
+    public void testThatUnknownAlgorithmsAreRejectedOnStartup() {
+        assertThatThrownBy(() -> new CompressionServerInterceptor(config("zstd, gzip", 1024),
+                CompressorRegistry.getDefaultInstance()))
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessageContaining("zstd");
+
+        GrpcCompressionConfig config = config("gzip", 1024);
+        config.overrides.put("test.Service/Method", override("brotli", null));
+        assertThatThrownBy(() -> new CompressionServerInterceptor(config, CompressorRegistry.getDefaultInstance()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("brotli");
+
+        config.overrides.put("test.Service/Method", override("identity", null));
+        assertThat(new CompressionServerInterceptor(config, CompressorRegistry.getDefaultInstance())).isNotNull();
+    }
+
+    @Test
+    public void testThatSmallMessagesAreNotCompressed() {
+        CompressionPolicy policy = new CompressionServerInterceptor(config("gzip", 100),
+                CompressorRegistry.getDefaultInstance()).resolve("test.Service/Method");
+        assertThat(policy.shouldCompress(99)).isFalse();
+        assertThat(policy.shouldCompress(100)).isTrue();
+        assertThat(policy.shouldCompress(-1)).isFalse();
+        assertThat(CompressionPolicy.NONE.shouldCompress(Integer.MAX_VALUE)).isFalse();
+    }
+
+    @Test
+    public void testThatCompressionIsSkippedWhenTheCpuIsSaturated() {
+        assertThat(new CompressionPolicy("gzip", 0, true, -2).shouldCompress(10)).isFalse();
+        assertThat(new CompressionPolicy("gzip", 0, false, -2).shouldCompress(10)).isTrue();
+    }
+
+    @Test
+    public void testThatThePreferredAlgorithmSupportedByBothSidesIsSelected() {
+        CompressionPolicy policy = new CompressionPolicy("zstd, identity, gzip", 0, false, 0.9);
+        assertThat(policy.getAlgorithms()).containsExactly("zstd", "gzip");
+        assertThat(policy.select(name -> CompressionPolicy.isAccepted("gzip,deflate", name))).isEqualTo("gzip");
+        assertThat(policy.select(name -> CompressionPolicy.isAccepted("gzip, zstd", name))).isEqualTo("zstd");
+        assertThat(policy.select(name -> CompressionPolicy.isAccepted(null, name))).isNull();
+    }
+
+    private static GrpcCompressionConfig config(String algorithm, int minMessageSize) {
+        GrpcCompressionConfig config = new GrpcCompressionConfig();
+        config.algorithm = Optional.ofNullable(algorithm);
+        config.minMessageSize = minMessageSize;
+        config.cpuThreshold = 0.9;
+        config.overrides = new HashMap<>();
+        return config;
+    }
+
+    private static GrpcCompressionOverrideConfig override(String algorithm, Integer minMessageSize) {
+        GrpcCompressionOverrideConfig override = new GrpcCompressionOverrideConfig();
+        override.algorithm = Optional.ofNullable(algorithm);
+        override.minMessageSize = minMessageSize == null ? OptionalInt.empty() : OptionalInt.of(minMessageSize);
+        return override;
+    }
+}
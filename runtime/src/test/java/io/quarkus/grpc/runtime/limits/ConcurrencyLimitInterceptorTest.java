@@ -0,0 +1,99 @@
+package io.quarkus.grpc.runtime.limits;
+
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.Status;
+import io.quarkus.grpc.runtime.FakeServerCall;
+import io.quarkus.grpc.runtime.config.GrpcConcurrencyLimitConfig;
+import io.quarkus.grpc.runtime.config.GrpcConcurrencyLimitOverrideConfig;
+import io.quarkus.grpc.runtime.metrics.RejectionMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrencyLimitInterceptorTest {
+
+    @Test
+    public void testThatCallsBeyondTheLimitAreRejected() {
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(config(true, 2));
+        long rejected = RejectionMetrics.getRejectedCalls(ConcurrencyLimitInterceptor.CONCURRENCY_LIMIT);
+
+        FakeServerCall first = new FakeServerCall(MethodDescriptor.MethodType.UNARY);
+        ServerCall.Listener<String> firstListener = start(interceptor, first);
+        start(interceptor, new FakeServerCall(MethodDescriptor.MethodType.UNARY));
+        FakeServerCall third = new FakeServerCall(MethodDescriptor.MethodType.UNARY);
+        start(interceptor, third);
+        assertThat(third.status.getCode()).isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+        assertThat(RejectionMetrics.getRejectedCalls(ConcurrencyLimitInterceptor.CONCURRENCY_LIMIT))
+                .isEqualTo(rejected + 1);
+        VegasLimit limit = interceptor.getLimit("test.Service/Method");
+        assertThat(limit.getInFlight()).isEqualTo(2);
+
+        // Completing a call releases its slot.
+        firstListener.onComplete();
+        assertThat(limit.getInFlight()).isEqualTo(1);
+        FakeServerCall fourth = new FakeServerCall(MethodDescriptor.MethodType.UNARY);
+        start(interceptor, fourth);
+        assertThat(fourth.status).isNull();
+    }
+
+    @Test
+    public void testThatStreamingCallsAreNotLimited() {
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(config(true, 1));
+        for (MethodDescriptor.MethodType type : new MethodDescriptor.MethodType[] {
+                MethodDescriptor.MethodType.CLIENT_STREAMING, MethodDescriptor.MethodType.SERVER_STREAMING,
+                MethodDescriptor.MethodType.BIDI_STREAMING }) {
+            for (int i = 0; i < 3; i++) {
+                FakeServerCall call = new FakeServerCall(type);
+                start(interceptor, call);
+                assertThat(call.status).isNull();
+            }
+        }
+        assertThat(interceptor.getLimit("test.Service/Method")).isNull();
+    }
+
+    @Test
+    public void testThatMethodSettingsOverrideServiceAndGlobalSettings() {
+        GrpcConcurrencyLimitConfig config = config(false, 20);
+        config.overrides.put("test.Service", override(true, 10));
+        config.overrides.put("test.Service/Disabled", override(false, null));
+        config.overrides.put("test.Service/Large", override(null, 50));
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(config);
+
+        assertThat(interceptor.create("test.Other/Method")).isEmpty();
+        assertThat(interceptor.create("test.Service/Method").get().getLimit()).isEqualTo(10);
+        assertThat(interceptor.create("test.Service/Disabled")).isEmpty();
+        assertThat(interceptor.create("test.Service/Large").get().getLimit()).isEqualTo(50);
+        assertThat(ConcurrencyLimitInterceptor.isEnabled(config)).isTrue();
+        assertThat(ConcurrencyLimitInterceptor.isEnabled(config(false, 20))).isFalse();
+    }
+
+    private static ServerCall.Listener<String> start(ConcurrencyLimitInterceptor interceptor, FakeServerCall call) {
+        return interceptor.interceptCall(call, new Metadata(), (c, headers) -> new ServerCall.Listener<String>() {
+        });
+    }
+
+    private static GrpcConcurrencyLimitConfig config(boolean enabled, int initialLimit) {
+        GrpcConcurrencyLimitConfig config = new GrpcConcurrencyLimitConfig();
+        config.enabled = enabled;
+        config.initialLimit = initialLimit;
+        config.minLimit = 1;
+        config.maxLimit = 1000;
+        config.overrides = new HashMap<>();
+        return config;
+    }
+
+    private static GrpcConcurrencyLimitOverrideConfig override(Boolean enabled, Integer initialLimit) {
+        GrpcConcurrencyLimitOverrideConfig override = new GrpcConcurrencyLimitOverrideConfig();
+        override.enabled = Optional.ofNullable(enabled);
+        override.initialLimit = initialLimit == null ? OptionalInt.empty() : OptionalInt.of(initialLimit);
+        override.minLimit = OptionalInt.empty();
+        override.maxLimit = OptionalInt.empty();
+        return override;
+    }
+}
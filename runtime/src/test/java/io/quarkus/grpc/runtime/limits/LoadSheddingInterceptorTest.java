@@ -0,0 +1,82 @@
+package io.quarkus.grpc.runtime.limits;
+
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.Status;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.util.concurrent.EventExecutor;
+import io.quarkus.grpc.runtime.FakeServerCall;
+import io.quarkus.grpc.runtime.metrics.RejectionMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+public class LoadSheddingInterceptorTest {
+
+    private DefaultEventLoop loop;
+    private EventLoopLagMonitor monitor;
+
+    @BeforeEach
+    public void init() {
+        loop = new DefaultEventLoop();
+        monitor = new EventLoopLagMonitor(Collections.<EventExecutor> singletonList(loop), Duration.ofSeconds(1));
+        monitor.start();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        monitor.stop();
+        loop.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testThatCallsAreAcceptedWhileTheEventLoopIsNotLagging() {
+        LoadSheddingInterceptor interceptor = new LoadSheddingInterceptor(monitor, Duration.ofMillis(100),
+                Duration.ofSeconds(1), Collections.emptySet());
+        FakeServerCall call = new FakeServerCall(MethodDescriptor.MethodType.UNARY);
+        start(interceptor, call);
+        assertThat(call.status).isNull();
+    }
+
+    @Test
+    public void testThatCallsAreRejectedWhileTheEventLoopIsLagging() {
+        loop.execute(() -> {
+            try {
+                Thread.sleep(1500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        await().atMost(5, TimeUnit.SECONDS).pollInterval(10, TimeUnit.MILLISECONDS)
+                .until(() -> monitor.getMaxLag() > TimeUnit.MILLISECONDS.toNanos(200));
+        long rejected = RejectionMetrics.getRejectedCalls(LoadSheddingInterceptor.EVENT_LOOP_LAG);
+
+        LoadSheddingInterceptor interceptor = new LoadSheddingInterceptor(monitor, Duration.ofMillis(100),
+                Duration.ofSeconds(2), Collections.singleton("test.Service/Method"));
+        FakeServerCall critical = new FakeServerCall(MethodDescriptor.MethodType.UNARY);
+        start(interceptor, critical);
+        assertThat(critical.status).isNull();
+
+        interceptor = new LoadSheddingInterceptor(monitor, Duration.ofMillis(100), Duration.ofSeconds(2),
+                Collections.singleton("test.Other"));
+        FakeServerCall call = new FakeServerCall(MethodDescriptor.MethodType.UNARY);
+        start(interceptor, call);
+        assertThat(call.status.getCode()).isEqualTo(Status.Code.UNAVAILABLE);
+        assertThat(call.trailers.get(LoadSheddingInterceptor.RETRY_PUSHBACK)).isEqualTo("2000");
+        assertThat(RejectionMetrics.getRejectedCalls(LoadSheddingInterceptor.EVENT_LOOP_LAG))
+                .isEqualTo(rejected + 1);
+    }
+
+    private static void start(LoadSheddingInterceptor interceptor, FakeServerCall call) {
+        interceptor.interceptCall(call, new Metadata(), (c, headers) -> new ServerCall.Listener<String>() {
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package io.quarkus.grpc.runtime.limits;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VegasLimitTest {
+
+    @Test
+    public void testThatCallsBeyondTheLimitAreRejected() {
+        VegasLimit limit = new VegasLimit(2, 1, 10);
+        assertThat(limit.tryAcquire()).isEqualTo(1);
+        assertThat(limit.tryAcquire()).isEqualTo(2);
+        assertThat(limit.tryAcquire()).isEqualTo(-1);
+        limit.release();
+        assertThat(limit.tryAcquire()).isEqualTo(2);
+        assertThat(limit.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    public void testThatTheLimitGrowsWhileTheLatencyIsStable() {
+        VegasLimit limit = new VegasLimit(10, 1, 100);
+        for (int i = 0; i < 20; i++) {
+            int inFlight = limit.tryAcquire();
+            limit.release(1_000_000, Math.max(inFlight, limit.getLimit()), false);
+        }
+        assertThat(limit.getLimit()).isGreaterThan(10).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    public void testThatTheLimitShrinksWhenCallsQueueOrAreDropped() {
+        VegasLimit limit = new VegasLimit(50, 5, 100);
+        limit.tryAcquire();
+        limit.release(1_000_000, 50, false);
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+            // 10 times slower than without load: most of the calls are queued.
+            limit.release(10_000_000, 50, false);
+        }
+        int queued = limit.getLimit();
+        assertThat(queued).isLessThan(50);
+
+        limit.tryAcquire();
+        limit.release(1_000_000, queued, true);
+        assertThat(limit.getLimit()).isLessThan(queued).isGreaterThanOrEqualTo(5);
+    }
+
+    @Test
+    public void testThatTheLimitIsNotChangedWhenItIsNotUsed() {
+        VegasLimit limit = new VegasLimit(50, 1, 100);
+        limit.tryAcquire();
+        limit.release(1_000_000, 1, false);
+        limit.tryAcquire();
+        limit.release(10_000_000, 1, false);
+        assertThat(limit.getLimit()).isEqualTo(50);
+    }
+
+    @Test
+    public void testThatInvalidLimitsAreRejected() {
+        assertThatThrownBy(() -> new VegasLimit(10, 0, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new VegasLimit(10, 20, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,74 @@
+package io.quarkus.grpc.runtime.metrics;
+
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CallMetricsRegistryTest {
+
+    @Test
+    public void testThatTheNumberOfMethodsIsBounded() {
+        CallMetricsRegistry registry = new CallMetricsRegistry("grpc_server", null, 2);
+        CallMetrics a = registry.get(method("test.Service/A"));
+        CallMetrics b = registry.get(method("test.Service/B"));
+        CallMetrics c = registry.get(method("test.Service/C"));
+        CallMetrics d = registry.get(method("test.Service/D"));
+
+        assertThat(a).isNotSameAs(b);
+        assertThat(registry.get(method("test.Service/A"))).isSameAs(a);
+        assertThat(c).isSameAs(d).isNotSameAs(a).isNotSameAs(b);
+        assertThat(registry.getAll()).hasSize(2);
+    }
+
+    @Test
+    public void testPrometheusExport() {
+        CallMetricsRegistry registry = new CallMetricsRegistry("grpc_server", null, 10);
+        CallMetrics metrics = registry.get(method("test.Service/Hello"));
+        metrics.recordStart();
+        metrics.recordMessageReceived(10);
+        metrics.recordMessageSent(20);
+        metrics.recordCompletion(Status.Code.OK, TimeUnit.MILLISECONDS.toNanos(3));
+
+        StringBuilder out = new StringBuilder();
+        CallMetricsRegistry.write(out, "grpc_server", "server", true, Collections.singletonList(registry));
+        String labels = "grpc_service=\"test.Service\",grpc_method=\"Hello\",grpc_type=\"UNARY\"";
+        assertThat(out.toString())
+                .contains("# TYPE grpc_server_handling_seconds histogram")
+                .contains("grpc_server_started_total{" + labels + "} 1")
+                .contains("grpc_server_in_flight{" + labels + "} 0")
+                .contains("grpc_server_handled_total{" + labels + ",grpc_code=\"OK\"} 1")
+                .contains("grpc_server_handling_seconds_bucket{" + labels + ",le=\"0.0025\"} 0")
+                .contains("grpc_server_handling_seconds_bucket{" + labels + ",le=\"0.005\"} 1")
+                .contains("grpc_server_handling_seconds_bucket{" + labels + ",le=\"+Inf\"} 1")
+                .contains("grpc_server_handling_seconds_count{" + labels + "} 1")
+                .contains("grpc_server_msg_received_bytes_total{" + labels + "} 10")
+                .contains("grpc_server_msg_sent_bytes_total{" + labels + "} 20");
+    }
+
+    static MethodDescriptor<String, String> method(String name) {
+        MethodDescriptor.Marshaller<String> marshaller = new MethodDescriptor.Marshaller<String>() {
+            @Override
+            public InputStream stream(String value) {
+                return new ByteArrayInputStream(value.getBytes());
+            }
+
+            @Override
+            public String parse(InputStream stream) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        return MethodDescriptor.<String, String> newBuilder()
+                .setType(MethodDescriptor.MethodType.UNARY)
+                .setFullMethodName(name)
+                .setRequestMarshaller(marshaller)
+                .setResponseMarshaller(marshaller)
+                .build();
+    }
+}
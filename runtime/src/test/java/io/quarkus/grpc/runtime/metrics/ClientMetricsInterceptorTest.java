@@ -0,0 +1,116 @@
+package io.quarkus.grpc.runtime.metrics;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.quarkus.grpc.runtime.metrics.CallMetricsRegistryTest.method;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClientMetricsInterceptorTest {
+
+    @Test
+    public void testThatCallsAreRecorded() throws InterruptedException {
+        ClientMetricsInterceptor interceptor = ClientMetrics.createInterceptor("counters:9000", 10);
+        FakeChannel channel = new FakeChannel();
+        MethodDescriptor<String, String> method = method("test.Service/Hello");
+
+        ClientCall<String, String> call = interceptor.interceptCall(method, CallOptions.DEFAULT, channel);
+        call.start(new ClientCall.Listener<String>() {
+        }, new Metadata());
+        call.sendMessage("hello");
+        CallMetrics metrics = interceptor.getRegistry().get(method);
+        assertThat(metrics.getStarted()).isEqualTo(1);
+        assertThat(metrics.getInFlight()).isEqualTo(1);
+        assertThat(metrics.getMessagesSent()).isEqualTo(1);
+
+        TimeUnit.MILLISECONDS.sleep(5);
+        channel.listener.onMessage("world");
+        channel.listener.onClose(Status.OK, new Metadata());
+        assertThat(metrics.getInFlight()).isEqualTo(0);
+        assertThat(metrics.getMessagesReceived()).isEqualTo(1);
+        assertThat(metrics.getHandled(Status.Code.OK)).isEqualTo(1);
+        assertThat(metrics.getLatency().getCount()).isEqualTo(1);
+        assertThat(metrics.getLatency().getSumNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+
+        call = interceptor.interceptCall(method, CallOptions.DEFAULT, channel);
+        call.start(new ClientCall.Listener<String>() {
+        }, new Metadata());
+        channel.listener.onClose(Status.UNAVAILABLE, new Metadata());
+        assertThat(metrics.getStarted()).isEqualTo(2);
+        assertThat(metrics.getHandled(Status.Code.UNAVAILABLE)).isEqualTo(1);
+
+        String labels = "grpc_target=\"counters:9000\",grpc_service=\"test.Service\",grpc_method=\"Hello\","
+                + "grpc_type=\"UNARY\"";
+        assertThat(ClientMetrics.scrape())
+                .contains("grpc_client_started_total{" + labels + "} 2")
+                .contains("grpc_client_in_flight{" + labels + "} 0")
+                .contains("grpc_client_handled_total{" + labels + ",grpc_code=\"UNAVAILABLE\"} 1")
+                .contains("grpc_client_handling_seconds_count{" + labels + "} 2");
+    }
+
+    @Test
+    public void testThatTheNumberOfMethodsIsCapped() {
+        ClientMetricsInterceptor interceptor = ClientMetrics.createInterceptor("capped:9000", 1);
+        FakeChannel channel = new FakeChannel();
+        for (String name : new String[] { "test.Service/A", "test.Service/B", "test.Service/C" }) {
+            ClientCall<String, String> call = interceptor.interceptCall(method(name), CallOptions.DEFAULT, channel);
+            call.start(new ClientCall.Listener<String>() {
+            }, new Metadata());
+            channel.listener.onClose(Status.OK, new Metadata());
+        }
+
+        assertThat(interceptor.getRegistry().getAll()).hasSize(1);
+        assertThat(ClientMetrics.getRegistry("capped:9000")).isSameAs(interceptor.getRegistry());
+        assertThat(ClientMetrics.scrape())
+                .contains("grpc_client_started_total{grpc_target=\"capped:9000\",grpc_service=\"test.Service\","
+                        + "grpc_method=\"A\",grpc_type=\"UNARY\"} 1")
+                .contains("grpc_client_started_total{grpc_target=\"capped:9000\",grpc_service=\"other\","
+                        + "grpc_method=\"other\",grpc_type=\"UNKNOWN\"} 2")
+                .doesNotContain("grpc_method=\"B\"");
+    }
+
+    private static class FakeChannel extends Channel {
+
+        ClientCall.Listener<String> listener;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(MethodDescriptor<ReqT, RespT> method,
+                CallOptions callOptions) {
+            return (ClientCall<ReqT, RespT>) new ClientCall<String, String>() {
+                @Override
+                public void start(Listener<String> responseListener, Metadata headers) {
+                    listener = responseListener;
+                }
+
+                @Override
+                public void request(int numMessages) {
+                }
+
+                @Override
+                public void cancel(String message, Throwable cause) {
+                }
+
+                @Override
+                public void halfClose() {
+                }
+
+                @Override
+                public void sendMessage(String message) {
+                }
+            };
+        }
+
+        @Override
+        public String authority() {
+            return "localhost:9000";
+        }
+    }
+}
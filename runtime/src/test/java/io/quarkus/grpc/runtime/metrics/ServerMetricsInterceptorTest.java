@@ -0,0 +1,28 @@
+package io.quarkus.grpc.runtime.metrics;
+
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.quarkus.grpc.runtime.FakeServerCall;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ServerMetricsInterceptorTest {
+
+    @Test
+    public void testThatCallsFailingToStartAreNotLeftInFlight() {
+        ServerMetricsInterceptor interceptor = new ServerMetricsInterceptor(10);
+        FakeServerCall call = new FakeServerCall(MethodDescriptor.MethodType.UNARY);
+
+        assertThatThrownBy(() -> interceptor.interceptCall(call, new Metadata(), (c, headers) -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        CallMetrics metrics = interceptor.getRegistry().get(call.getMethodDescriptor());
+        assertThat(metrics.getStarted()).isEqualTo(1);
+        assertThat(metrics.getInFlight()).isEqualTo(0);
+        assertThat(metrics.getHandled(Status.Code.UNKNOWN)).isEqualTo(1);
+    }
+}
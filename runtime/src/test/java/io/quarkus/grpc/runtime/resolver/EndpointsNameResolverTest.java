@@ -0,0 +1,133 @@
+package io.quarkus.grpc.runtime.resolver;
+
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.NameResolver;
+import io.grpc.Status;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+public class EndpointsNameResolverTest {
+
+    private Vertx vertx;
+    private Path file;
+    private final List<List<EquivalentAddressGroup>> results = new CopyOnWriteArrayList<>();
+    private final List<Status> errors = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void init() throws IOException {
+        vertx = Vertx.vertx();
+        file = Files.createTempFile("endpoints", ".txt");
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        vertx.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testParsing() {
+        assertThat(EndpointsNameResolver.parse("localhost", 9000))
+                .isEqualTo(InetSocketAddress.createUnresolved("localhost", 9000));
+        assertThat(EndpointsNameResolver.parse("localhost:9001", 9000))
+                .isEqualTo(InetSocketAddress.createUnresolved("localhost", 9001));
+        assertThat(EndpointsNameResolver.parse("[::1]", 9000))
+                .isEqualTo(InetSocketAddress.createUnresolved("::1", 9000));
+        assertThat(EndpointsNameResolver.parse("[::1]:9001", 9000))
+                .isEqualTo(InetSocketAddress.createUnresolved("::1", 9001));
+        assertThatThrownBy(() -> EndpointsNameResolver.parse("localhost:abc", 9000))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> EndpointsNameResolver.parse("[::1", 9000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testThatEachEndpointIsResolvedToItsOwnGroup() {
+        NameResolver resolver = EndpointsNameResolverFactory
+                .forEndpoints(vertx, Arrays.asList("127.0.0.1", "127.0.0.1:9001"), 9000)
+                .newNameResolver(URI.create(EndpointsNameResolverFactory.target("hello")), null);
+        assertThat(resolver.getServiceAuthority()).isEqualTo("127.0.0.1");
+        resolver.start(new RecordingListener());
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> results.size() == 1);
+        assertThat(ports(results.get(0))).containsExactly(9000, 9001);
+        resolver.shutdown();
+    }
+
+    @Test
+    public void testThatTheFileIsWatched() throws IOException {
+        Files.write(file, Arrays.asList("# backends", "127.0.0.1:9000", "", "127.0.0.1:9001"));
+        NameResolver resolver = EndpointsNameResolverFactory
+                .forFile(vertx, "hello", file, Duration.ofMillis(10), 9000)
+                .newNameResolver(URI.create(EndpointsNameResolverFactory.target("hello")), null);
+        resolver.start(new RecordingListener());
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> results.size() == 1);
+        assertThat(ports(results.get(0))).containsExactly(9000, 9001);
+
+        // Replaced atomically, so the resolver does not read a partially written file.
+        FileTime modified = Files.getLastModifiedTime(file);
+        Path replacement = Files.createTempFile(file.getParent(), "endpoints", ".tmp");
+        Files.write(replacement, Arrays.asList("127.0.0.1:9002"));
+        Files.setLastModifiedTime(replacement, FileTime.fromMillis(modified.toMillis() + 5000));
+        Files.move(replacement, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> results.size() == 2);
+        assertThat(ports(results.get(1))).containsExactly(9002);
+
+        resolver.shutdown();
+        assertThat(errors).isEmpty();
+    }
+
+    @Test
+    public void testThatAMissingFileIsReported() throws IOException {
+        Files.delete(file);
+        NameResolver resolver = EndpointsNameResolverFactory
+                .forFile(vertx, "hello", file, Duration.ofMillis(10), 9000)
+                .newNameResolver(URI.create(EndpointsNameResolverFactory.target("hello")), null);
+        assertThat(resolver.getServiceAuthority()).isEqualTo("hello");
+        resolver.start(new RecordingListener());
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> errors.size() == 1);
+        assertThat(errors.get(0).getCode()).isEqualTo(Status.Code.UNAVAILABLE);
+        resolver.shutdown();
+    }
+
+    private static List<Integer> ports(List<EquivalentAddressGroup> groups) {
+        return groups.stream()
+                .map(group -> ((InetSocketAddress) group.getAddresses().get(0)).getPort())
+                .collect(Collectors.toList());
+    }
+
+    private class RecordingListener extends NameResolver.Listener2 {
+
+        @Override
+        public void onResult(NameResolver.ResolutionResult resolutionResult) {
+            results.add(resolutionResult.getAddresses());
+        }
+
+        @Override
+        public void onError(Status error) {
+            errors.add(error);
+        }
+    }
+}
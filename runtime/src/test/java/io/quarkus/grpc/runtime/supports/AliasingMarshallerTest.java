@@ -0,0 +1,67 @@
+package io.quarkus.grpc.runtime.supports;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.BytesValue;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.StatusRuntimeException;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.ServerCalls;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AliasingMarshallerTest {
+
+    private static final MethodDescriptor<BytesValue, BytesValue> METHOD = MethodDescriptor
+            .<BytesValue, BytesValue> newBuilder()
+            .setType(MethodDescriptor.MethodType.UNARY)
+            .setFullMethodName("test.Blobs/Store")
+            .setRequestMarshaller(ProtoUtils.marshaller(BytesValue.getDefaultInstance()))
+            .setResponseMarshaller(ProtoUtils.marshaller(BytesValue.getDefaultInstance()))
+            .build();
+
+    @Test
+    public void testThatTheRequestMarshallersAreReplaced() {
+        ServerServiceDefinition definition = ServerServiceDefinition.builder("test.Blobs")
+                .addMethod(METHOD, ServerCalls.asyncUnaryCall((request, observer) -> {
+                    observer.onNext(request);
+                    observer.onCompleted();
+                }))
+                .build();
+
+        ServerServiceDefinition aliased = AliasingMarshaller.withAliasing(definition);
+        assertThat(aliased.getServiceDescriptor().getName()).isEqualTo("test.Blobs");
+        ServerMethodDefinition<?, ?> method = aliased.getMethod("test.Blobs/Store");
+        assertThat(method.getMethodDescriptor().getRequestMarshaller()).isInstanceOf(AliasingMarshaller.class);
+        assertThat(method.getMethodDescriptor().getResponseMarshaller())
+                .isSameAs(METHOD.getResponseMarshaller());
+        assertThat(method.getServerCallHandler())
+                .isSameAs(definition.getMethod("test.Blobs/Store").getServerCallHandler());
+    }
+
+    @Test
+    public void testThatMessagesAreParsed() {
+        AliasingMarshaller<BytesValue> marshaller = new AliasingMarshaller<>(
+                (MethodDescriptor.PrototypeMarshaller<BytesValue>) METHOD.getRequestMarshaller());
+        BytesValue message = BytesValue.newBuilder().setValue(ByteString.copyFrom(new byte[64 * 1024])).build();
+
+        assertThat(marshaller.parse(marshaller.stream(message))).isEqualTo(message);
+        assertThat(marshaller.parse(new ByteArrayInputStream(message.toByteArray()))).isEqualTo(message);
+        assertThat(marshaller.parse(new ByteArrayInputStream(new byte[0])))
+                .isSameAs(BytesValue.getDefaultInstance());
+    }
+
+    @Test
+    public void testThatInvalidMessagesAreRejected() {
+        AliasingMarshaller<BytesValue> marshaller = new AliasingMarshaller<>(
+                (MethodDescriptor.PrototypeMarshaller<BytesValue>) METHOD.getRequestMarshaller());
+        assertThatThrownBy(() -> marshaller.parse(new ByteArrayInputStream(new byte[] { 10, 100, 1 })))
+                .isInstanceOf(StatusRuntimeException.class)
+                .hasMessageContaining("INTERNAL");
+    }
+}
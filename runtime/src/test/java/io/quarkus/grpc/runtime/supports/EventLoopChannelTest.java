@@ -0,0 +1,214 @@
+package io.quarkus.grpc.runtime.supports;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.impl.ContextInternal;
+import io.vertx.core.impl.VertxInternal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static io.quarkus.grpc.runtime.TestMethods.unary;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventLoopChannelTest {
+
+    private Vertx vertx;
+    private final List<RecordingChannel> channels = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void init() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        vertx.close();
+    }
+
+    @Test
+    public void testThatCallsFromOtherThreadsUseTheSharedChannel() {
+        EventLoopGroup group = ((VertxInternal) vertx).getEventLoopGroup();
+        EventLoopChannel channel = new EventLoopChannel(group, this::create);
+
+        channel.newCall(unary(), CallOptions.DEFAULT);
+        assertThat(channels).hasSize(1);
+        assertThat(channels.get(0).group).isSameAs(group);
+        assertThat(channels.get(0).options).hasSize(1);
+        assertThat(channels.get(0).options.get(0).getExecutor()).isNull();
+        assertThat(channel.getPinnedConnections()).isEqualTo(0);
+    }
+
+    @Test
+    public void testThatCallsFromAnEventLoopArePinnedToIt() throws Exception {
+        EventLoopChannel channel = new EventLoopChannel(((VertxInternal) vertx).getEventLoopGroup(), this::create);
+        Context context = vertx.getOrCreateContext();
+        EventLoop loop = ((ContextInternal) context).nettyEventLoop();
+
+        CompletableFuture<Boolean> executedInline = new CompletableFuture<>();
+        context.runOnContext(ignored -> {
+            channel.newCall(unary(), CallOptions.DEFAULT);
+            channel.newCall(unary(), CallOptions.DEFAULT);
+            boolean[] inline = new boolean[1];
+            channels.get(1).options.get(0).getExecutor().execute(() -> inline[0] = true);
+            executedInline.complete(inline[0]);
+        });
+
+        assertThat(executedInline.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(channels).hasSize(2);
+        assertThat(channels.get(1).group).isSameAs(loop);
+        assertThat(channels.get(1).options).hasSize(2);
+        assertThat(channels.get(0).options).isEmpty();
+        assertThat(channel.getPinnedConnections()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatTheExecutorOfTheCallerIsKept() throws Exception {
+        EventLoopChannel channel = new EventLoopChannel(((VertxInternal) vertx).getEventLoopGroup(), this::create);
+        Context context = vertx.getOrCreateContext();
+        CallOptions options = CallOptions.DEFAULT.withExecutor(Runnable::run);
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        context.runOnContext(ignored -> {
+            channel.newCall(unary(), options);
+            done.complete(null);
+        });
+
+        done.get(5, TimeUnit.SECONDS);
+        assertThat(channels.get(1).options.get(0)).isSameAs(options);
+    }
+
+    @Test
+    public void testThatNotificationsAreMovedToTheContextOfEachCaller() throws Exception {
+        Vertx single = Vertx.vertx(new VertxOptions().setEventLoopPoolSize(1));
+        try {
+            EventLoopChannel channel = new EventLoopChannel(((VertxInternal) single).getEventLoopGroup(),
+                    this::create);
+            Context first = single.getOrCreateContext();
+            Context second = single.getOrCreateContext();
+            assertThat(((ContextInternal) first).nettyEventLoop())
+                    .isSameAs(((ContextInternal) second).nettyEventLoop());
+
+            for (Context context : Arrays.asList(first, second)) {
+                CompletableFuture<Void> done = new CompletableFuture<>();
+                context.runOnContext(ignored -> {
+                    channel.newCall(unary(), CallOptions.DEFAULT);
+                    done.complete(null);
+                });
+                done.get(5, TimeUnit.SECONDS);
+            }
+            assertThat(channel.getPinnedConnections()).isEqualTo(1);
+
+            // Notified from another thread, such as a cancellation.
+            CompletableFuture<Context> notified = new CompletableFuture<>();
+            channels.get(1).options.get(1).getExecutor().execute(() -> notified.complete(Vertx.currentContext()));
+            assertThat(notified.get(5, TimeUnit.SECONDS)).isSameAs(second);
+        } finally {
+            single.close();
+        }
+    }
+
+    @Test
+    public void testThatAllTheConnectionsAreShutDown() throws Exception {
+        EventLoopChannel channel = new EventLoopChannel(((VertxInternal) vertx).getEventLoopGroup(), this::create);
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        vertx.getOrCreateContext().runOnContext(ignored -> {
+            channel.newCall(unary(), CallOptions.DEFAULT);
+            done.complete(null);
+        });
+        done.get(5, TimeUnit.SECONDS);
+        assertThat(channels).hasSize(2);
+
+        channel.shutdown();
+        assertThat(channels).allMatch(RecordingChannel::isShutdown);
+    }
+
+    private ManagedChannel create(EventLoopGroup group) {
+        RecordingChannel channel = new RecordingChannel(group);
+        channels.add(channel);
+        return channel;
+    }
+
+    private static class RecordingChannel extends ManagedChannel {
+
+        final EventLoopGroup group;
+        final List<CallOptions> options = new CopyOnWriteArrayList<>();
+        volatile boolean shutdown;
+
+        RecordingChannel(EventLoopGroup group) {
+            this.group = group;
+        }
+
+        @Override
+        public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(MethodDescriptor<ReqT, RespT> method,
+                CallOptions callOptions) {
+            options.add(callOptions);
+            return new ClientCall<ReqT, RespT>() {
+                @Override
+                public void start(Listener<RespT> responseListener, Metadata headers) {
+                }
+
+                @Override
+                public void request(int numMessages) {
+                }
+
+                @Override
+                public void cancel(String message, Throwable cause) {
+                }
+
+                @Override
+                public void halfClose() {
+                }
+
+                @Override
+                public void sendMessage(ReqT message) {
+                }
+            };
+        }
+
+        @Override
+        public String authority() {
+            return "localhost:9000";
+        }
+
+        @Override
+        public ManagedChannel shutdown() {
+            shutdown = true;
+            return this;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public ManagedChannel shutdownNow() {
+            return this;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
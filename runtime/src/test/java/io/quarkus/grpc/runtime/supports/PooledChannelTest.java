@@ -0,0 +1,173 @@
+package io.quarkus.grpc.runtime.supports;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.quarkus.grpc.runtime.TestMethods.unary;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PooledChannelTest {
+
+    @Test
+    public void testThatCallsAreSpreadOverTheConnections() {
+        FakeChannel first = new FakeChannel();
+        FakeChannel second = new FakeChannel();
+        FakeChannel third = new FakeChannel();
+        PooledChannel pool = new PooledChannel("test", Arrays.asList(first, second, third));
+
+        for (int i = 0; i < 6; i++) {
+            start(pool);
+        }
+        assertThat(pool.getOutstandingCalls()).containsExactly(2, 2, 2);
+    }
+
+    @Test
+    public void testThatCallsUseTheConnectionWithTheLeastOutstandingCalls() {
+        FakeChannel first = new FakeChannel();
+        FakeChannel second = new FakeChannel();
+        PooledChannel pool = new PooledChannel("test", Arrays.asList(first, second));
+
+        for (int i = 0; i < 4; i++) {
+            start(pool);
+        }
+        first.calls.forEach(FakeCall::close);
+        assertThat(pool.getOutstandingCalls()).containsExactly(0, 2);
+
+        start(pool);
+        start(pool);
+        assertThat(pool.getOutstandingCalls()).containsExactly(2, 2);
+        assertThat(first.calls).hasSize(4);
+        assertThat(second.calls).hasSize(2);
+    }
+
+    @Test
+    public void testThatFailedStartsAreNotCounted() {
+        FakeChannel channel = new FakeChannel();
+        channel.failStarts = true;
+        PooledChannel pool = new PooledChannel("test", Arrays.asList(channel, new FakeChannel()));
+
+        try {
+            pool.newCall(unary(), CallOptions.DEFAULT).start(new ClientCall.Listener<String>() {
+            }, new Metadata());
+        } catch (IllegalStateException expected) {
+            // Expected
+        }
+        assertThat(pool.getOutstandingCalls()).containsExactly(0, 0);
+    }
+
+    @Test
+    public void testMetrics() {
+        FakeChannel channel = new FakeChannel();
+        PooledChannel pool = PooledChannel.create("metrics", Arrays.asList(channel, new FakeChannel()));
+        start(pool);
+        assertThat(PooledChannel.get("metrics")).isSameAs(pool);
+
+        StringBuilder out = new StringBuilder();
+        PooledChannel.writeTo(out);
+        assertThat(out.toString())
+                .contains("grpc_client_pool_outstanding_calls{client=\"metrics\",connection=\"0\"} 1")
+                .contains("grpc_client_pool_outstanding_calls{client=\"metrics\",connection=\"1\"} 0")
+                .contains("grpc_client_pool_calls_total{client=\"metrics\",connection=\"0\"} 1");
+
+        pool.shutdown();
+        assertThat(PooledChannel.get("metrics")).isNull();
+    }
+
+    private static void start(PooledChannel pool) {
+        pool.newCall(unary(), CallOptions.DEFAULT).start(new ClientCall.Listener<String>() {
+        }, new Metadata());
+    }
+
+    private static class FakeChannel extends ManagedChannel {
+
+        final List<FakeCall> calls = new ArrayList<>();
+        boolean failStarts;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(MethodDescriptor<ReqT, RespT> method,
+                CallOptions callOptions) {
+            FakeCall call = new FakeCall(failStarts);
+            calls.add(call);
+            return (ClientCall<ReqT, RespT>) call;
+        }
+
+        @Override
+        public String authority() {
+            return "localhost:9000";
+        }
+
+        @Override
+        public ManagedChannel shutdown() {
+            return this;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public ManagedChannel shutdownNow() {
+            return this;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+
+    private static class FakeCall extends ClientCall<String, String> {
+
+        private final boolean failStart;
+        private Listener<String> listener;
+
+        FakeCall(boolean failStart) {
+            this.failStart = failStart;
+        }
+
+        @Override
+        public void start(Listener<String> responseListener, Metadata headers) {
+            if (failStart) {
+                throw new IllegalStateException("boom");
+            }
+            listener = responseListener;
+        }
+
+        void close() {
+            listener.onClose(Status.OK, new Metadata());
+        }
+
+        @Override
+        public void request(int numMessages) {
+        }
+
+        @Override
+        public void cancel(String message, Throwable cause) {
+        }
+
+        @Override
+        public void halfClose() {
+        }
+
+        @Override
+        public void sendMessage(String message) {
+        }
+    }
+}